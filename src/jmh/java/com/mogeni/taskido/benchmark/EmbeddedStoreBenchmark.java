@@ -0,0 +1,90 @@
+package com.mogeni.taskido.benchmark;
+
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.repository.TaskCursor;
+import com.mogeni.taskido.repository.TaskTransition;
+import com.mogeni.taskido.repository.embedded.EmbeddedStore;
+import com.mogeni.taskido.repository.embedded.EmbeddedTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes against the memory-only embedded store, through the repository the
+ * controllers use: a lookup by id, the first page of a user's list and a page after a cursor,
+ * and a toggle (skip-list reindex plus a log record that memory-only mode drops).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmbeddedStoreBenchmark {
+
+	private static final String USER_ID = "650000000000000000000001";
+
+	@Param({"1000"})
+	public int tasks;
+
+	private EmbeddedStore store;
+	private EmbeddedTaskRepository repository;
+	private String id;
+	private TaskCursor middle;
+
+	@Setup
+	public void setUp() {
+		store = new EmbeddedStore();
+		ReflectionTestUtils.setField(store, "dir", "");
+		ReflectionTestUtils.setField(store, "tombstoneRetention", Duration.ofDays(30));
+		ReflectionTestUtils.invokeMethod(store, "open");
+		repository = new EmbeddedTaskRepository();
+		ReflectionTestUtils.setField(repository, "store", store);
+		LocalDateTime start = LocalDateTime.now().minusDays(1);
+		for (int i = 0; i < tasks; i++) {
+			Task task = new Task("Task " + i, "Description of task " + i, USER_ID);
+			task.setCompleted(i % 3 == 0);
+			task.setCreatedAt(start.plusSeconds(i));
+			task.setUpdatedAt(start.plusSeconds(i));
+			repository.save(task);
+			if (i == tasks / 2) {
+				id = task.getId();
+				middle = new TaskCursor(task.getCreatedAt(), task.getId());
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		ReflectionTestUtils.invokeMethod(store, "close");
+	}
+
+	@Benchmark
+	public Task findById() {
+		return repository.findByIdAndUserId(id, USER_ID).orElseThrow();
+	}
+
+	@Benchmark
+	public List<Task> firstPage() {
+		return repository.findPageByUserId(USER_ID, null, null, 50, null);
+	}
+
+	@Benchmark
+	public List<Task> pageAfterCursor() {
+		return repository.findPageByUserId(USER_ID, false, middle, 50, null);
+	}
+
+	@Benchmark
+	public TaskTransition toggle() {
+		return repository.toggleCompletedByIdAndUserId(id, USER_ID);
+	}
+}
@@ -0,0 +1,61 @@
+package com.mogeni.taskido.benchmark;
+
+import com.mogeni.taskido.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing and verification. {@code validateCached} is the steady state of a client reusing
+ * its token; {@code validateUncached} is the first request with a token, paying for the HMAC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+	private static final String SECRET = "mySecretKey123456789012345678901234567890";
+
+	private JwtUtil cached;
+	private JwtUtil uncached;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		cached = jwtUtil(10_000);
+		uncached = jwtUtil(0);
+		token = cached.generateJwtToken("alice", "650000000000000000000001", List.of("USER"));
+	}
+
+	static JwtUtil jwtUtil(int cacheSize) {
+		JwtUtil jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 86_400_000);
+		ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", cacheSize);
+		ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+		return jwtUtil;
+	}
+
+	@Benchmark
+	public String generate() {
+		return cached.generateJwtToken("alice", "650000000000000000000001", List.of("USER"));
+	}
+
+	@Benchmark
+	public boolean validateCached() {
+		return cached.validateJwtToken(token);
+	}
+
+	@Benchmark
+	public boolean validateUncached() {
+		return uncached.validateJwtToken(token);
+	}
+}
@@ -0,0 +1,43 @@
+package com.mogeni.taskido.benchmark;
+
+import com.mogeni.taskido.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task construction as done when mapping query results and request bodies: the constructor and
+ * every setter call LocalDateTime.now().
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskConstructionBenchmark {
+
+	@Benchmark
+	public Task defaultConstructor() {
+		return new Task();
+	}
+
+	@Benchmark
+	public Task fieldConstructor() {
+		return new Task("Task", "Description", "650000000000000000000001");
+	}
+
+	// What mapping a document or a JSON body through setters costs
+	@Benchmark
+	public Task populatedThroughSetters() {
+		Task task = new Task();
+		task.setId("650000000000000000000002");
+		task.setName("Task");
+		task.setDescription("Description");
+		task.setCompleted(true);
+		task.setUserId("650000000000000000000001");
+		return task;
+	}
+}
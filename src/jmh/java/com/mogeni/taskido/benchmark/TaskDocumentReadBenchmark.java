@@ -0,0 +1,91 @@
+package com.mogeni.taskido.benchmark;
+
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.repository.convert.TaskReadConverter;
+import com.mogeni.taskido.repository.convert.TaskWriteConverter;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a list read's worth of task documents into Tasks, as MongoTemplate does for every
+ * result: through reflective mapping (no-arg constructor plus a setter per property, each setter
+ * calling LocalDateTime.now()) versus the hand-written TaskReadConverter. Compare
+ * gc.alloc.rate.norm divided by {@code documents} for the bytes allocated per decoded document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskDocumentReadBenchmark {
+
+	@Param({"500"})
+	public int documents;
+
+	private MappingMongoConverter reflective;
+	private MappingMongoConverter handWritten;
+	private List<Document> page;
+
+	@Setup
+	public void setUp() {
+		reflective = converter(new MongoCustomConversions(List.of()));
+		handWritten = converter(new MongoCustomConversions(List.of(new TaskReadConverter(), new TaskWriteConverter())));
+		String userId = new ObjectId().toHexString();
+		long now = System.currentTimeMillis();
+		page = new ArrayList<>(documents);
+		// Shaped as the driver returns them: ObjectId _id, BSON dates as java.util.Date
+		for (int i = 0; i < documents; i++) {
+			page.add(new Document("_id", new ObjectId())
+					.append("name", "Task " + i)
+					.append("description", "Description of task " + i)
+					.append("completed", i % 3 == 0)
+					.append("userId", userId)
+					.append("createdAt", new Date(now - i * 60_000L))
+					.append("updatedAt", new Date(now - i * 30_000L))
+					.append("_class", Task.class.getName()));
+		}
+	}
+
+	private static MappingMongoConverter converter(MongoCustomConversions conversions) {
+		MongoMappingContext context = new MongoMappingContext();
+		context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		context.afterPropertiesSet();
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		return converter;
+	}
+
+	@Benchmark
+	public List<Task> reflectiveMapping() {
+		return read(reflective);
+	}
+
+	@Benchmark
+	public List<Task> readConverter() {
+		return read(handWritten);
+	}
+
+	private List<Task> read(MappingMongoConverter converter) {
+		List<Task> tasks = new ArrayList<>(page.size());
+		for (Document document : page) {
+			tasks.add(converter.read(Task.class, document));
+		}
+		return tasks;
+	}
+}
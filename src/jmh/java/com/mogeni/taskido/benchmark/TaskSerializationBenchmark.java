@@ -0,0 +1,75 @@
+package com.mogeni.taskido.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mogeni.taskido.dto.TaskJsonWriter;
+import com.mogeni.taskido.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a task list the way the list endpoints do. The mapper is built like Spring Boot's
+ * (JavaTimeModule, ISO dates rather than timestamps). The stream variants compare Jackson with
+ * TaskJsonWriter, which the unpaged list endpoints use, writing the same bytes into a reused stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSerializationBenchmark {
+
+	@Param({"1", "10", "100", "1000"})
+	public int size;
+
+	private ObjectWriter writer;
+	private List<Task> tasks;
+	private final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+
+	@Setup
+	public void setUp() {
+		ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Task.class));
+		tasks = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Task task = new Task("Task number " + i, "Description of task number " + i, "650000000000000000000001");
+			task.setId(String.format("%024x", i));
+			task.setCompleted(i % 3 == 0);
+			tasks.add(task);
+		}
+	}
+
+	@Benchmark
+	public byte[] serialize() throws JsonProcessingException {
+		return writer.writeValueAsBytes(tasks);
+	}
+
+	@Benchmark
+	public int jacksonToStream() throws IOException {
+		out.reset();
+		writer.writeValue(out, tasks);
+		return out.size();
+	}
+
+	@Benchmark
+	public int taskJsonWriterToStream() throws IOException {
+		out.reset();
+		TaskJsonWriter.write(tasks, out);
+		return out.size();
+	}
+}
@@ -0,0 +1,46 @@
+package com.mogeni.taskido.benchmark;
+
+import com.mogeni.taskido.model.User;
+import com.mogeni.taskido.security.JwtClaims;
+import com.mogeni.taskido.service.UserDetailsServiceImpl.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the authenticated principal, once per request: from a loaded user, and from token claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserPrincipalBenchmark {
+
+	private User user;
+	private JwtClaims claims;
+
+	@Setup
+	public void setUp() {
+		user = new User("alice", "alice@example.com", "$2a$10$abcdefghijklmnopqrstuv");
+		user.setId("650000000000000000000001");
+		claims = new JwtClaims("alice", "650000000000000000000001", List.of("USER"),
+				new Date(System.currentTimeMillis() + 86_400_000));
+	}
+
+	@Benchmark
+	public UserPrincipal fromUser() {
+		return UserPrincipal.create(user);
+	}
+
+	@Benchmark
+	public UserPrincipal fromClaims() {
+		return UserPrincipal.create(claims);
+	}
+}
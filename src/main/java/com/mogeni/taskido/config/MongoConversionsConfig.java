@@ -0,0 +1,28 @@
+package com.mogeni.taskido.config;
+
+import com.mogeni.taskido.repository.convert.TaskReadConverter;
+import com.mogeni.taskido.repository.convert.TaskWriteConverter;
+import com.mogeni.taskido.repository.convert.UserReadConverter;
+import com.mogeni.taskido.repository.convert.UserWriteConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+
+/**
+ * Hand-written Task and User document converters, used by the blocking and reactive templates
+ * alike in place of reflective mapping for those two types.
+ */
+@Configuration
+@Profile("!embedded")
+public class MongoConversionsConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                new TaskReadConverter(), new TaskWriteConverter(),
+                new UserReadConverter(), new UserWriteConverter()));
+    }
+}
@@ -0,0 +1,117 @@
+package com.mogeni.taskido.config;
+
+import com.mogeni.taskido.model.Task;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Explains every user-scoped query issued by {@link com.mogeni.taskido.repository.TaskRepository}
+ * at startup and reports plans that fall back to a collection scan or an in-memory sort.
+ * Unscoped admin queries (findByCompleted, findAllByOrderByCreatedAtDesc, ...) are not checked.
+ */
+@Component
+@Profile("!embedded")
+@ConditionalOnProperty(name = "tasks.index-report.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskIndexReport implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskIndexReport.class);
+
+    private static final String SAMPLE_USER_ID = "000000000000000000000000";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${tasks.index-report.fail-on-violation:false}")
+    private boolean failOnViolation;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> violations = new ArrayList<>();
+        try {
+            for (Map.Entry<String, Document[]> entry : queries().entrySet()) {
+                Document filter = entry.getValue()[0];
+                Document sort = entry.getValue()[1];
+                Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Task.class))
+                        .find(filter)
+                        .sort(sort)
+                        .explain();
+                List<String> stages = new ArrayList<>();
+                collectStages(((Document) explain.get("queryPlanner")).get("winningPlan"), stages);
+                boolean bad = stages.contains("COLLSCAN") || stages.contains("SORT");
+                if (bad) {
+                    violations.add(entry.getKey() + " " + stages);
+                }
+                logger.info("Index report: {} -> {}{}", entry.getKey(), stages, bad ? " [VIOLATION]" : "");
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Index report skipped: {}", e.getMessage());
+            return;
+        }
+        if (!violations.isEmpty()) {
+            String message = "Task queries without a usable index: " + violations;
+            if (failOnViolation) {
+                throw new IllegalStateException(message);
+            }
+            logger.warn(message);
+        }
+    }
+
+    // Filter and sort documents mirroring the repository query methods
+    private Map<String, Document[]> queries() {
+        Document newestFirst = new Document("createdAt", -1);
+        Document page = new Document("createdAt", -1).append("_id", -1);
+
+        Map<String, Document[]> queries = new LinkedHashMap<>();
+        queries.put("findByUserId",
+                new Document[]{new Document("userId", SAMPLE_USER_ID), new Document()});
+        queries.put("findByUserIdOrderByCreatedAtDesc",
+                new Document[]{new Document("userId", SAMPLE_USER_ID), newestFirst});
+        queries.put("findByUserIdAndCompleted",
+                new Document[]{new Document("userId", SAMPLE_USER_ID).append("completed", false), new Document()});
+        queries.put("findByUserIdAndCompletedOrderByCreatedAtDesc",
+                new Document[]{new Document("userId", SAMPLE_USER_ID).append("completed", false), newestFirst});
+        // Without the textScore sort: ranking by relevance always sorts the matches in memory
+        queries.put("searchByUserId",
+                new Document[]{new Document("userId", SAMPLE_USER_ID).append("$text", new Document("$search", "sample")), new Document()});
+        queries.put("findPageByUserId",
+                new Document[]{new Document("userId", SAMPLE_USER_ID), page});
+        queries.put("findPageByUserId(completed)",
+                new Document[]{new Document("userId", SAMPLE_USER_ID).append("completed", false), page});
+        queries.put("findChangedByUserId",
+                new Document[]{new Document("userId", SAMPLE_USER_ID).append("updatedAt", new Document("$lte", new Date())),
+                        new Document("updatedAt", 1).append("_id", 1)});
+        return queries;
+    }
+
+    // Plans nest stages under inputStage/inputStages (and queryPlan on SBE-enabled servers)
+    private void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage instanceof String name) {
+                stages.add(name);
+            }
+            for (Object value : document.values()) {
+                collectStages(value, stages);
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object value : list) {
+                collectStages(value, stages);
+            }
+        }
+    }
+}
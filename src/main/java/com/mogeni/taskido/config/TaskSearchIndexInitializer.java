@@ -0,0 +1,45 @@
+package com.mogeni.taskido.config;
+
+import com.mogeni.taskido.model.Task;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ensures the {userId, name/description text} index backing task search. Declared here rather than
+ * with @TextIndexed because Spring Data cannot express an equality prefix or field weights on it.
+ */
+@Component
+@Profile("!embedded")
+public class TaskSearchIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndexInitializer.class);
+
+    public static final String INDEX_NAME = "user_text_idx";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    void ensureIndex() {
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(Task.class)).createIndex(
+                    Indexes.compoundIndex(
+                            Indexes.ascending("userId"),
+                            Indexes.text("name"),
+                            Indexes.text("description")),
+                    new IndexOptions()
+                            .name(INDEX_NAME)
+                            .weights(new Document("name", 10).append("description", 2)));
+        } catch (RuntimeException e) {
+            logger.warn("Could not ensure task search index: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.mogeni.taskido.config;
+
+import com.mogeni.taskido.model.TaskTombstone;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ensures the TTL index that expires task tombstones after {@code tasks.sync.tombstone-retention}.
+ * Declared here rather than with @Indexed(expireAfter) so the retention comes from configuration.
+ */
+@Component
+@Profile("!embedded")
+public class TaskTombstoneRetention {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskTombstoneRetention.class);
+
+    public static final String INDEX_NAME = "deleted_ttl_idx";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${tasks.sync.tombstone-retention:30d}")
+    private Duration retention;
+
+    @PostConstruct
+    void ensureIndex() {
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(TaskTombstone.class)).createIndex(
+                    Indexes.ascending("deletedAt"),
+                    new IndexOptions()
+                            .name(INDEX_NAME)
+                            .expireAfter(retention.getSeconds(), TimeUnit.SECONDS));
+        } catch (RuntimeException e) {
+            // An existing index with another expiry must be changed with collMod
+            logger.warn("Could not ensure task tombstone TTL index: {}", e.getMessage());
+        }
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+}
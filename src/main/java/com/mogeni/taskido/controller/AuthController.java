@@ -13,6 +13,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,6 +22,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
 @Tag(name = "Authentication", description = "Authentication and user registration endpoints")
@@ -53,7 +55,7 @@ public class AuthController {
             User user = userService.findByUsername(loginRequest.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            String jwt = jwtUtil.generateJwtToken(loginRequest.getUsername(), user.getId());
+            String jwt = jwtUtil.generateJwtToken(loginRequest.getUsername(), user.getId(), user.getRoles());
 
             return ResponseEntity.ok(new JwtResponse(jwt, user.getId(), user.getUsername(), user.getEmail(), user.getRoles()));
         } catch (Exception e) {
@@ -79,7 +81,7 @@ public class AuthController {
 
         try {
             User newUser = userService.createUser(user);
-            String jwt = jwtUtil.generateJwtToken(newUser.getUsername(), newUser.getId());
+            String jwt = jwtUtil.generateJwtToken(newUser.getUsername(), newUser.getId(), newUser.getRoles());
 
             return ResponseEntity.ok(new JwtResponse(jwt, newUser.getId(), newUser.getUsername(), newUser.getEmail(), newUser.getRoles()));
         } catch (Exception e) {
@@ -0,0 +1,83 @@
+package com.mogeni.taskido.controller;
+
+import com.mogeni.taskido.dto.JwtResponse;
+import com.mogeni.taskido.dto.LoginRequest;
+import com.mogeni.taskido.model.User;
+import com.mogeni.taskido.repository.ReactiveUserRepository;
+import com.mogeni.taskido.security.JwtUtil;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Same REST contract as {@link AuthController}, served by WebFlux under the "reactive" profile.
+ */
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+@Tag(name = "Authentication", description = "Authentication and user registration endpoints")
+public class ReactiveAuthController {
+
+    @Autowired
+    private ReactiveAuthenticationManager authenticationManager;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @PostMapping("/signin")
+    public Mono<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        ResponseEntity<?> invalid = ResponseEntity.badRequest().body("Error: Invalid credentials!");
+        return authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()))
+                .flatMap(authentication -> userRepository.findByUsername(loginRequest.getUsername()))
+                .<ResponseEntity<?>>map(user -> ResponseEntity.ok(toJwtResponse(user)))
+                .defaultIfEmpty(invalid)
+                .onErrorReturn(invalid);
+    }
+
+    @PostMapping("/signup")
+    public Mono<ResponseEntity<?>> registerUser(@Valid @RequestBody User user) {
+        return userRepository.existsByUsername(user.getUsername())
+                .flatMap(usernameTaken -> {
+                    if (usernameTaken) {
+                        return Mono.just(ResponseEntity.badRequest().body("Error: Username is already taken!"));
+                    }
+                    return userRepository.existsByEmail(user.getEmail())
+                            .flatMap(emailTaken -> emailTaken
+                                    ? Mono.just(ResponseEntity.badRequest().body("Error: Email is already in use!"))
+                                    : createUser(user));
+                });
+    }
+
+    private Mono<ResponseEntity<?>> createUser(User user) {
+        // BCrypt is deliberately slow; keep it off the event loop
+        return Mono.fromCallable(() -> passwordEncoder.encode(user.getPassword()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(encoded -> {
+                    user.setPassword(encoded);
+                    return userRepository.save(user);
+                })
+                .<ResponseEntity<?>>map(newUser -> ResponseEntity.ok(toJwtResponse(newUser)))
+                .onErrorReturn(ResponseEntity.badRequest().body("Error: Failed to create user!"));
+    }
+
+    private JwtResponse toJwtResponse(User user) {
+        String jwt = jwtUtil.generateJwtToken(user.getUsername(), user.getId(), user.getRoles());
+        return new JwtResponse(jwt, user.getId(), user.getUsername(), user.getEmail(), user.getRoles());
+    }
+}
@@ -0,0 +1,153 @@
+package com.mogeni.taskido.controller;
+
+import com.mogeni.taskido.dto.TaskFields;
+import com.mogeni.taskido.dto.TaskPatch;
+import com.mogeni.taskido.exception.BadRequestException;
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.service.ReactiveTaskService;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * The core of {@link TaskController}'s REST contract, served by WebFlux under the "reactive"
+ * profile: CRUD, patch, toggle, listing, search and NDJSON export. Lists are streamed from the
+ * MongoDB cursor rather than collected first and carry no ETag. The servlet-only routes answer
+ * 501 Not Implemented.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+@Tag(name = "Tasks", description = "Task management endpoints")
+public class ReactiveTaskController {
+
+    @Autowired
+    private ReactiveTaskService taskService;
+
+    @GetMapping
+    public Mono<ResponseEntity<?>> getAllTasks(
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Cursor from the previous page's next field") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Return the full list instead of a page") @RequestParam(defaultValue = "false") boolean unpaged,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestAttribute("userId") String userId) {
+        return list(userId, null, size, cursor, unpaged, TaskFields.parse(fields, view));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Task>> getTaskById(@PathVariable String id, @RequestAttribute("userId") String userId) {
+        return taskService.getTaskByIdAndUserId(id, userId)
+                .map(task -> new ResponseEntity<>(task, HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Task>> createTask(@Valid @RequestBody Task task, @RequestAttribute("userId") String userId) {
+        task.setUserId(userId);
+        return taskService.createTask(task)
+                .map(created -> new ResponseEntity<>(created, HttpStatus.CREATED));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Task>> updateTask(@PathVariable String id, @Valid @RequestBody Task taskDetails,
+                                                 @RequestAttribute("userId") String userId) {
+        return taskService.updateTaskForUser(id, taskDetails, userId)
+                .map(task -> new ResponseEntity<>(task, HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", "application/json"})
+    public Mono<ResponseEntity<Task>> patchTask(@PathVariable String id, @Valid @RequestBody TaskPatch patch,
+                                                @RequestAttribute("userId") String userId) {
+        return taskService.patchTaskForUser(id, patch, userId)
+                .map(task -> new ResponseEntity<>(task, HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTask(@PathVariable String id, @RequestAttribute("userId") String userId) {
+        return taskService.deleteTaskForUser(id, userId)
+                .map(deleted -> deleted
+                        ? new ResponseEntity<Void>(HttpStatus.NO_CONTENT)
+                        : new ResponseEntity<Void>(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/status/{completed}")
+    public Mono<ResponseEntity<?>> getTasksByCompletionStatus(
+            @PathVariable boolean completed,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean unpaged,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestAttribute("userId") String userId) {
+        return list(userId, completed, size, cursor, unpaged, TaskFields.parse(fields, view));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<?>> searchTasksByName(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestAttribute("userId") String userId) {
+        Set<String> selected = TaskFields.parse(fields, view);
+        Flux<Task> tasks = taskService.searchTasksForUser(userId, q != null ? q : name, page, size, selected);
+        return Mono.just(new ResponseEntity<>(selected != null ? tasks.map(t -> TaskFields.project(t, selected)) : tasks, HttpStatus.OK));
+    }
+
+    // NDJSON is streamed natively by WebFlux, one task per line straight off the cursor
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Task>> exportTasks(@RequestParam(defaultValue = "ndjson") String format,
+                                                  @RequestParam(defaultValue = "false") boolean gzip,
+                                                  @RequestAttribute("userId") String userId) {
+        if ("json".equalsIgnoreCase(format) || gzip) {
+            return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+        }
+        if (!"ndjson".equalsIgnoreCase(format)) {
+            throw new BadRequestException("Unknown export format: " + format);
+        }
+        return new ResponseEntity<>(taskService.getAllTasksByUserId(userId), HttpStatus.OK);
+    }
+
+    // Servlet-only routes, matched here so they are not taken for a task id by /{id}
+    @RequestMapping({"/summary", "/stats", "/changes", "/stream", "/suggest", "/batch", "/import"})
+    public ResponseEntity<Void> notImplemented() {
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @PatchMapping("/{id}/toggle")
+    public Mono<ResponseEntity<Task>> toggleTaskCompletion(@PathVariable String id, @RequestAttribute("userId") String userId) {
+        return taskService.toggleTaskCompletionForUser(id, userId)
+                .map(task -> new ResponseEntity<>(task, HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    private Mono<ResponseEntity<?>> list(String userId, Boolean completed, Integer size, String cursor,
+                                         boolean unpaged, Set<String> selected) {
+        if (unpaged) {
+            Flux<Task> tasks = selected != null
+                    ? taskService.getTasksForUser(userId, completed, selected)
+                    : completed != null
+                        ? taskService.getTasksByCompletionStatusForUser(userId, completed)
+                        : taskService.getAllTasksByUserId(userId);
+            return Mono.just(new ResponseEntity<>(selected != null ? tasks.map(t -> TaskFields.project(t, selected)) : tasks, HttpStatus.OK));
+        }
+        return taskService.getTaskPageForUser(userId, completed, cursor, size, selected)
+                .map(page -> new ResponseEntity<>(page, HttpStatus.OK));
+    }
+}
@@ -1,7 +1,24 @@
 package com.mogeni.taskido.controller;
 
 //import org.springframework.web.bind.annotation.CrossOrigin;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mogeni.taskido.dto.TaskBatchRequest;
+import com.mogeni.taskido.dto.TaskBatchResult;
+import com.mogeni.taskido.dto.TaskChanges;
+import com.mogeni.taskido.dto.TaskFields;
+import com.mogeni.taskido.dto.TaskImportResult;
+import com.mogeni.taskido.dto.TaskJsonWriter;
+import com.mogeni.taskido.dto.TaskPage;
+import com.mogeni.taskido.dto.TaskPatch;
+import com.mogeni.taskido.dto.TaskStats;
+import com.mogeni.taskido.dto.TaskSummary;
+import com.mogeni.taskido.exception.BadRequestException;
 import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.service.TaskEventHub;
+import com.mogeni.taskido.service.TaskImportService;
 import com.mogeni.taskido.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,17 +29,37 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/tasks")
 @CrossOrigin(origins = "*") // Allow all origins for CORS
 @PreAuthorize("hasRole('USER') or hasRole('ADMIN')") // Ensure only authenticated users can access these endpoints
@@ -30,24 +67,126 @@ import java.util.Optional;
 @SecurityRequirement(name = "bearerAuth")
 public class TaskController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int EXPORT_FLUSH_EVERY = 500;
+
     @Autowired
     private TaskService taskService; // Assuming you have a TaskService to handle business logic
 
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskEventHub taskEventHub;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // This class will handle HTTP requests related to tasks
     // You can define methods here to handle CRUD operations for tasks
     // For example:
     // - @GetMapping to retrieve tasks
-    @Operation(summary = "Get all tasks", description = "Retrieve all tasks for the authenticated user")
+    @Operation(summary = "Get all tasks", description = "Retrieve tasks for the authenticated user, newest first, one page at a time. Pass unpaged=true for the full list.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks",
-                    content = @Content(schema = @Schema(implementation = Task.class))),
+                    content = @Content(schema = @Schema(implementation = TaskPage.class))),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks(HttpServletRequest request) {
+    public ResponseEntity<?> getAllTasks(
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Cursor from the previous page's next field") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Return the full list instead of a page") @RequestParam(defaultValue = "false") boolean unpaged,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,name,completed") @RequestParam(required = false) String fields,
+            @Parameter(description = "Named field set: summary (id, name, completed) or full") @RequestParam(required = false) String view,
+            HttpServletRequest request, HttpServletResponse response, WebRequest webRequest) throws IOException {
         String userId = (String) request.getAttribute("userId");
-        List<Task> tasks = taskService.getAllTasksByUserId(userId);
-        return new ResponseEntity<>(tasks, HttpStatus.OK);
+        String etag = listETag(userId, request);
+        if (webRequest.checkNotModified(etag)) {
+            return listResponse(HttpStatus.NOT_MODIFIED, null, etag);
+        }
+        Set<String> selected = TaskFields.parse(fields, view);
+        if (unpaged && selected != null) {
+            List<Task> tasks = taskService.getTasksForUser(userId, null, selected);
+            return listResponse(HttpStatus.OK, TaskFields.project(tasks, selected), etag);
+        }
+        if (unpaged) {
+            List<Task> tasks = taskService.getAllTasksByUserId(userId);
+            writeTaskList(tasks, etag, response);
+            return null;
+        }
+        TaskPage page = taskService.getTaskPageForUser(userId, null, cursor, size, selected);
+        return listResponse(HttpStatus.OK, page, etag);
+    }
+
+    /**
+     * Strong validator for a list response: the user's task list version plus the query string,
+     * since page size, filters and field selection all change the body. Computed before, and
+     * instead of, reading the list.
+     */
+    private String listETag(String userId, HttpServletRequest request) {
+        String variant = request.getRequestURI() + '?' + request.getQueryString();
+        return "\"" + taskService.getTaskListVersion(userId) + '-' + Integer.toHexString(variant.hashCode()) + "\"";
+    }
+
+    // private, no-cache: clients may store the list but must revalidate it, which is what sends If-None-Match
+    private ResponseEntity<Object> listResponse(HttpStatus status, Object body, String etag) {
+        return ResponseEntity.status(status)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION)
+                .body(body);
+    }
+
+    /**
+     * A full list, written by {@link TaskJsonWriter} straight to the response with the headers of
+     * {@link #listResponse}, instead of being handed to Jackson as a body. The caller then returns
+     * null, which Spring MVC takes as the response already being handled.
+     */
+    private void writeTaskList(List<Task> tasks, String etag, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        TaskJsonWriter.write(tasks, response.getOutputStream());
+    }
+
+    // - @GetMapping("/summary") to get task counts
+    @Operation(summary = "Get task summary", description = "Total, completed and pending task counts for the authenticated user, read from a counter document kept current by every write")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task counts",
+                    content = @Content(schema = @Schema(implementation = TaskSummary.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/summary")
+    public ResponseEntity<TaskSummary> getTaskSummary(HttpServletRequest request) {
+        String userId = (String) request.getAttribute("userId");
+        TaskSummary summary = taskService.getSummaryForUser(userId);
+        return new ResponseEntity<>(summary, HttpStatus.OK);
+    }
+
+    // - @GetMapping("/stats") to get completion history
+    @Operation(summary = "Get task statistics", description = "Tasks created and completed per day or ISO week, with median time-to-complete, for the authenticated user. Served from pre-aggregated rollups")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics for the range",
+                    content = @Content(schema = @Schema(implementation = TaskStats.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid range or period"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getTaskStats(
+            @Parameter(description = "First day, ISO date; defaults to 29 days before to") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, ISO date; defaults to today") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "day or week") @RequestParam(defaultValue = "day") String period,
+            HttpServletRequest request) {
+        String userId = (String) request.getAttribute("userId");
+        LocalDate last = to != null ? to : LocalDate.now();
+        LocalDate first = from != null ? from : last.minusDays(29);
+        TaskStats stats = taskService.getStatsForUser(userId, first, last, period);
+        return new ResponseEntity<>(stats, HttpStatus.OK);
     }
 
     // - @GetMapping("/{id}") to retrieve a specific task by ID
@@ -105,6 +244,26 @@ public class TaskController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
+    // - @PatchMapping("/{id}") to change only the supplied fields
+    @Operation(summary = "Partially update a task", description = "Apply a JSON Merge Patch to a task for the authenticated user; only supplied fields are written")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task patched (or already matched the patch)",
+                    content = @Content(schema = @Schema(implementation = Task.class))),
+            @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid task data"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", "application/json"})
+    public ResponseEntity<Task> patchTask(
+            @Parameter(description = "Task ID") @PathVariable String id,
+            @Valid @RequestBody TaskPatch patch,
+            HttpServletRequest request) {
+        String userId = (String) request.getAttribute("userId");
+        Task patchedTask = taskService.patchTaskForUser(id, patch, userId);
+        return patchedTask != null
+            ? new ResponseEntity<>(patchedTask, HttpStatus.OK)
+            : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
     // - @DeleteMapping to delete a task
     @Operation(summary = "Delete a task", description = "Delete a specific task for the authenticated user")
     @ApiResponses(value = {
@@ -123,37 +282,183 @@ public class TaskController {
             : new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
     // - @GetMapping("/completed") to get tasks by completion status
-    @Operation(summary = "Get tasks by completion status", description = "Retrieve tasks filtered by completion status for the authenticated user")
+    @Operation(summary = "Get tasks by completion status", description = "Retrieve tasks filtered by completion status for the authenticated user, one page at a time. Pass unpaged=true for the full list.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks",
-                    content = @Content(schema = @Schema(implementation = Task.class))),
+                    content = @Content(schema = @Schema(implementation = TaskPage.class))),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping("/status/{completed}")
-    public ResponseEntity<List<Task>> getTasksByCompletionStatus(
+    public ResponseEntity<?> getTasksByCompletionStatus(
             @Parameter(description = "Completion status (true for completed, false for pending)") @PathVariable boolean completed,
-            HttpServletRequest request) {
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Cursor from the previous page's next field") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Return the full list instead of a page") @RequestParam(defaultValue = "false") boolean unpaged,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,name,completed") @RequestParam(required = false) String fields,
+            @Parameter(description = "Named field set: summary (id, name, completed) or full") @RequestParam(required = false) String view,
+            HttpServletRequest request, HttpServletResponse response, WebRequest webRequest) throws IOException {
         String userId = (String) request.getAttribute("userId");
-        List<Task> tasks = taskService.getTasksByCompletionStatusForUser(userId, completed);
-        return new ResponseEntity<>(tasks, HttpStatus.OK);
+        String etag = listETag(userId, request);
+        if (webRequest.checkNotModified(etag)) {
+            return listResponse(HttpStatus.NOT_MODIFIED, null, etag);
+        }
+        Set<String> selected = TaskFields.parse(fields, view);
+        if (unpaged && selected != null) {
+            List<Task> tasks = taskService.getTasksForUser(userId, completed, selected);
+            return listResponse(HttpStatus.OK, TaskFields.project(tasks, selected), etag);
+        }
+        if (unpaged) {
+            List<Task> tasks = taskService.getTasksByCompletionStatusForUser(userId, completed);
+            writeTaskList(tasks, etag, response);
+            return null;
+        }
+        TaskPage page = taskService.getTaskPageForUser(userId, completed, cursor, size, selected);
+        return listResponse(HttpStatus.OK, page, etag);
     }
 
-    // - @GetMapping("/search") to search tasks by name
-    @Operation(summary = "Search tasks by name", description = "Search tasks by name for the authenticated user")
+    // - @GetMapping("/search") to search tasks by name and description
+    @Operation(summary = "Search tasks", description = "Full-text search over task names and descriptions for the authenticated user, best matches first")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved matching tasks",
                     content = @Content(schema = @Schema(implementation = Task.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping("/search")
-    public ResponseEntity<List<Task>> searchTasksByName(
-            @Parameter(description = "Task name to search for") @RequestParam String name,
+    public ResponseEntity<?> searchTasksByName(
+            @Parameter(description = "Words to search for") @RequestParam(required = false) String q,
+            @Parameter(description = "Alias of q, kept for existing clients") @RequestParam(required = false) String name,
+            @Parameter(description = "Zero-based result page") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,name,completed") @RequestParam(required = false) String fields,
+            @Parameter(description = "Named field set: summary (id, name, completed) or full") @RequestParam(required = false) String view,
             HttpServletRequest request) {
         String userId = (String) request.getAttribute("userId");
-        List<Task> tasks = taskService.searchTasksByNameForUser(userId, name);
+        Set<String> selected = TaskFields.parse(fields, view);
+        List<Task> tasks = taskService.searchTasksForUser(userId, q != null ? q : name, page, size, selected);
+        if (selected != null) {
+            return new ResponseEntity<>(TaskFields.project(tasks, selected), HttpStatus.OK);
+        }
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
 
+    // - @GetMapping("/changes") to fetch only what changed since the last sync
+    @Operation(summary = "Get task changes", description = "Delta sync: tasks created or updated and ids of tasks deleted since the given checkpoint, oldest first. Pass the next field of the response as since on the following call; omit since for a full initial sync")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes since the checkpoint",
+                    content = @Content(schema = @Schema(implementation = TaskChanges.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid checkpoint"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChanges> getTaskChanges(
+            @Parameter(description = "Checkpoint from the previous response's next field") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes to return") @RequestParam(required = false) Integer size,
+            HttpServletRequest request) {
+        String userId = (String) request.getAttribute("userId");
+        TaskChanges changes = taskService.getChangesForUser(userId, since, size);
+        return new ResponseEntity<>(changes, HttpStatus.OK);
+    }
+
+    // - @GetMapping("/stream") to receive task changes as server-sent events
+    @Operation(summary = "Stream task changes", description = "Server-sent events for the authenticated user's tasks: created and updated carry the task, deleted carries its id. Slow connections are closed; reconnect and catch up through /changes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "429", description = "Too many open streams for this user")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTaskChanges(HttpServletRequest request) {
+        String userId = (String) request.getAttribute("userId");
+        SseEmitter emitter = taskEventHub.subscribe(userId);
+        return emitter != null
+            ? new ResponseEntity<>(emitter, HttpStatus.OK)
+            : new ResponseEntity<>(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    // - @GetMapping("/export") to stream every task as NDJSON or a JSON array
+    @Operation(summary = "Export all tasks", description = "Stream every task of the authenticated user straight from the database cursor, newest first, in constant memory")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task export stream"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @Parameter(description = "ndjson (one task per line) or json (a single array)") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Gzip the stream on the fly") @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+        String userId = (String) request.getAttribute("userId");
+        boolean ndjson;
+        if ("ndjson".equalsIgnoreCase(format)) {
+            ndjson = true;
+        } else if ("json".equalsIgnoreCase(format)) {
+            ndjson = false;
+        } else {
+            throw new BadRequestException("Unknown export format: " + format);
+        }
+        StreamingResponseBody body = out -> {
+            try (Stream<Task> tasks = taskService.streamTasksForUser(userId)) {
+                if (gzip) {
+                    try (GZIPOutputStream zipped = new GZIPOutputStream(out, 8192)) {
+                        writeExport(tasks.iterator(), zipped, ndjson);
+                    }
+                } else {
+                    writeExport(tasks.iterator(), out, ndjson);
+                }
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(ndjson ? NDJSON : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + (ndjson ? "ndjson" : "json") + (gzip ? ".gz" : "") + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // One generator for the whole export; flushed periodically so memory stays flat
+    private void writeExport(Iterator<Task> tasks, OutputStream out, boolean ndjson) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Task.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (ndjson) {
+            generator.setRootValueSeparator(null);
+        } else {
+            generator.writeStartArray();
+        }
+        int written = 0;
+        while (tasks.hasNext()) {
+            writer.writeValue(generator, tasks.next());
+            if (ndjson) {
+                generator.writeRaw('\n');
+            }
+            if (++written % EXPORT_FLUSH_EVERY == 0) {
+                generator.flush();
+            }
+        }
+        if (!ndjson) {
+            generator.writeEndArray();
+        }
+        generator.close();
+    }
+
+    // - @GetMapping("/suggest") to autocomplete task names
+    @Operation(summary = "Suggest task names", description = "Autocomplete task names starting with the given prefix, served from memory")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching task names"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggestTaskNames(
+            @Parameter(description = "Name prefix, case and accent insensitive") @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions") @RequestParam(defaultValue = "10") int limit,
+            HttpServletRequest request) {
+        String userId = (String) request.getAttribute("userId");
+        List<String> names = taskService.suggestTaskNamesForUser(userId, prefix, limit);
+        return new ResponseEntity<>(names, HttpStatus.OK);
+    }
+
     // - @PatchMapping("/{id}/toggle") to toggle task completion status
     @Operation(summary = "Toggle task completion", description = "Toggle the completion status of a specific task for the authenticated user")
     @ApiResponses(value = {
@@ -172,4 +477,63 @@ public class TaskController {
             ? new ResponseEntity<>(updatedTask, HttpStatus.OK)
             : new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
+
+    // - @PostMapping("/batch") to apply many task mutations in one request
+    @Operation(summary = "Batch task mutations", description = "Apply a list of create/update/toggle/delete operations for the authenticated user as one bulk write, returning a result per operation")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-operation status",
+                    content = @Content(schema = @Schema(implementation = TaskBatchResult.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid batch"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> applyBatch(@Valid @RequestBody TaskBatchRequest batchRequest,
+                                                            HttpServletRequest request) {
+        String userId = (String) request.getAttribute("userId");
+        List<TaskBatchResult> results = taskService.applyBatchForUser(userId, batchRequest);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    // - @PostMapping("/import") to bulk import tasks from an NDJSON or CSV request body
+    @Operation(summary = "Import tasks", description = "Stream an NDJSON or CSV request body into the authenticated user's tasks, validating each record and inserting in batches. CSV needs a header row with a name column and may have description, completed and createdAt")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed; see counts and per-line errors",
+                    content = @Content(schema = @Schema(implementation = TaskImportResult.class))),
+            @ApiResponse(responseCode = "400", description = "Unreadable input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<TaskImportResult> importTasks(HttpServletRequest request) throws IOException {
+        String userId = (String) request.getAttribute("userId");
+        TaskImportService.Format format = NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? TaskImportService.Format.NDJSON
+                : TaskImportService.Format.CSV;
+        TaskImportResult result = taskImportService.importTasks(userId, request.getInputStream(), format);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // - @PostMapping("/import") to bulk import tasks from an uploaded NDJSON or CSV file
+    @Operation(summary = "Import tasks from a file", description = "Multipart variant of the import; the format is taken from the format parameter or the file extension")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<TaskImportResult> importTaskFile(
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "ndjson or csv; defaults to the file extension") @RequestParam(required = false) String format,
+            HttpServletRequest request) throws IOException {
+        String userId = (String) request.getAttribute("userId");
+        if (format == null) {
+            String filename = file.getOriginalFilename();
+            format = filename != null && filename.toLowerCase(Locale.ROOT).endsWith(".csv") ? "csv" : "ndjson";
+        }
+        TaskImportService.Format importFormat;
+        try {
+            importFormat = TaskImportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown import format: " + format);
+        }
+        // Multipart parts above the size threshold are spooled to disk, so this reads from the file
+        try (InputStream input = file.getInputStream()) {
+            TaskImportResult result = taskImportService.importTasks(userId, input, importFormat);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        }
+    }
 }
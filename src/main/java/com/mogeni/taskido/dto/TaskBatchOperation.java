@@ -0,0 +1,50 @@
+package com.mogeni.taskido.dto;
+
+import com.mogeni.taskido.model.Task;
+import jakarta.validation.constraints.NotNull;
+
+public class TaskBatchOperation {
+
+    public enum Type {
+        CREATE, UPDATE, TOGGLE, DELETE
+    }
+
+    @NotNull(message = "Operation type required")
+    private Type op;
+
+    // Target task id; required for UPDATE, TOGGLE and DELETE
+    private String id;
+
+    // Task body; required for CREATE and UPDATE
+    private Task task;
+
+    // Default constructor
+    public TaskBatchOperation() {
+    }
+
+    public TaskBatchOperation(Type op, String id, Task task) {
+        this.op = op;
+        this.id = id;
+        this.task = task;
+    }
+
+    // Getters and Setters
+    public Type getOp() {
+        return op;
+    }
+    public void setOp(Type op) {
+        this.op = op;
+    }
+    public String getId() {
+        return id;
+    }
+    public void setId(String id) {
+        this.id = id;
+    }
+    public Task getTask() {
+        return task;
+    }
+    public void setTask(Task task) {
+        this.task = task;
+    }
+}
@@ -0,0 +1,32 @@
+package com.mogeni.taskido.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class TaskBatchRequest {
+
+    // Ordered batches stop at the first write error; unordered ones run every operation
+    private boolean ordered = true;
+
+    @NotEmpty(message = "At least one operation required")
+    private List<TaskBatchOperation> operations;
+
+    // Default constructor
+    public TaskBatchRequest() {
+    }
+
+    // Getters and Setters
+    public boolean isOrdered() {
+        return ordered;
+    }
+    public void setOrdered(boolean ordered) {
+        this.ordered = ordered;
+    }
+    public List<TaskBatchOperation> getOperations() {
+        return operations;
+    }
+    public void setOperations(List<TaskBatchOperation> operations) {
+        this.operations = operations;
+    }
+}
@@ -0,0 +1,60 @@
+package com.mogeni.taskido.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mogeni.taskido.model.Task;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchResult {
+
+    private int index;
+    private TaskBatchOperation.Type op;
+    private String id;
+    // HTTP-style status of this operation: 201, 200, 204, 400, 404, 409 or 500
+    private int status;
+    private String error;
+    private Task task;
+
+    public TaskBatchResult(int index, TaskBatchOperation.Type op, String id) {
+        this.index = index;
+        this.op = op;
+        this.id = id;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+    public void setIndex(int index) {
+        this.index = index;
+    }
+    public TaskBatchOperation.Type getOp() {
+        return op;
+    }
+    public void setOp(TaskBatchOperation.Type op) {
+        this.op = op;
+    }
+    public String getId() {
+        return id;
+    }
+    public void setId(String id) {
+        this.id = id;
+    }
+    public int getStatus() {
+        return status;
+    }
+    public void setStatus(int status) {
+        this.status = status;
+    }
+    public String getError() {
+        return error;
+    }
+    public void setError(String error) {
+        this.error = error;
+    }
+    public Task getTask() {
+        return task;
+    }
+    public void setTask(Task task) {
+        this.task = task;
+    }
+}
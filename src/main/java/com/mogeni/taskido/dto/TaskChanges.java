@@ -0,0 +1,59 @@
+package com.mogeni.taskido.dto;
+
+import com.mogeni.taskido.model.Task;
+
+import java.util.List;
+
+public class TaskChanges {
+
+    // Tasks created or updated since the checkpoint, oldest change first
+    private List<Task> changed;
+    // Ids of tasks deleted since the checkpoint
+    private List<String> deleted;
+    // Checkpoint to pass as since on the next call
+    private String next;
+    // More changes are waiting; call again with next right away
+    private boolean hasMore;
+    // The checkpoint was too old; drop local state, this response starts a full resync
+    private boolean reset;
+
+    public TaskChanges(List<Task> changed, List<String> deleted, String next, boolean hasMore, boolean reset) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.next = next;
+        this.hasMore = hasMore;
+        this.reset = reset;
+    }
+
+    // Getters and Setters
+    public List<Task> getChanged() {
+        return changed;
+    }
+    public void setChanged(List<Task> changed) {
+        this.changed = changed;
+    }
+    public List<String> getDeleted() {
+        return deleted;
+    }
+    public void setDeleted(List<String> deleted) {
+        this.deleted = deleted;
+    }
+    public String getNext() {
+        return next;
+    }
+    public void setNext(String next) {
+        this.next = next;
+    }
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    public boolean isReset() {
+        return reset;
+    }
+    public void setReset(boolean reset) {
+        this.reset = reset;
+    }
+}
@@ -0,0 +1,83 @@
+package com.mogeni.taskido.dto;
+
+import com.mogeni.taskido.exception.BadRequestException;
+import com.mogeni.taskido.model.Task;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Field selection for task read endpoints, either an explicit {@code fields=id,name} list or a
+ * named {@code view}. The selection is pushed into the MongoDB projection and also used to shape
+ * the response so unselected fields are not written at all.
+ */
+public final class TaskFields {
+
+    public static final List<String> ALL = List.of("id", "name", "description", "completed", "userId", "createdAt", "updatedAt");
+
+    private static final Map<String, List<String>> VIEWS = Map.of(
+            "summary", List.of("id", "name", "completed"),
+            "full", ALL
+    );
+
+    private TaskFields() {
+    }
+
+    /**
+     * Returns the selected fields in canonical order, or null when neither parameter is given
+     * (full documents, the historical behaviour).
+     */
+    public static Set<String> parse(String fields, String view) {
+        if (fields != null && !fields.isBlank()) {
+            Set<String> requested = new LinkedHashSet<>();
+            for (String field : fields.split(",")) {
+                String trimmed = field.trim();
+                if (!trimmed.isEmpty()) {
+                    if (!ALL.contains(trimmed)) {
+                        throw new BadRequestException("Unknown task field: " + trimmed);
+                    }
+                    requested.add(trimmed);
+                }
+            }
+            Set<String> ordered = new LinkedHashSet<>();
+            for (String field : ALL) {
+                if (requested.contains(field)) {
+                    ordered.add(field);
+                }
+            }
+            return ordered;
+        }
+        if (view != null && !view.isBlank()) {
+            List<String> selected = VIEWS.get(view);
+            if (selected == null) {
+                throw new BadRequestException("Unknown view: " + view);
+            }
+            return new LinkedHashSet<>(selected);
+        }
+        return null;
+    }
+
+    public static Map<String, Object> project(Task task, Set<String> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String field : fields) {
+            switch (field) {
+                case "id" -> projected.put(field, task.getId());
+                case "name" -> projected.put(field, task.getName());
+                case "description" -> projected.put(field, task.getDescription());
+                case "completed" -> projected.put(field, task.isCompleted());
+                case "userId" -> projected.put(field, task.getUserId());
+                case "createdAt" -> projected.put(field, task.getCreatedAt());
+                case "updatedAt" -> projected.put(field, task.getUpdatedAt());
+                default -> { }
+            }
+        }
+        return projected;
+    }
+
+    public static List<Map<String, Object>> project(List<Task> tasks, Set<String> fields) {
+        return tasks.stream().map(task -> project(task, fields)).toList();
+    }
+}
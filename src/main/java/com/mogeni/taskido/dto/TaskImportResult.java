@@ -0,0 +1,55 @@
+package com.mogeni.taskido.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskImportResult {
+
+    private long imported;
+    private long failed;
+    // Only the first errors are listed; failed counts all of them
+    private List<LineError> errors = new ArrayList<>();
+
+    // Getters and Setters
+    public long getImported() {
+        return imported;
+    }
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+    public long getFailed() {
+        return failed;
+    }
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+    public List<LineError> getErrors() {
+        return errors;
+    }
+    public void setErrors(List<LineError> errors) {
+        this.errors = errors;
+    }
+
+    public static class LineError {
+        private int line;
+        private String error;
+
+        public LineError(int line, String error) {
+            this.line = line;
+            this.error = error;
+        }
+
+        public int getLine() {
+            return line;
+        }
+        public void setLine(int line) {
+            this.line = line;
+        }
+        public String getError() {
+            return error;
+        }
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
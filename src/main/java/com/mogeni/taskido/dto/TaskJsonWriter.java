@@ -0,0 +1,232 @@
+package com.mogeni.taskido.dto;
+
+import com.mogeni.taskido.model.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes a task list as a JSON array straight to an output stream, producing the same bytes the
+ * application's ObjectMapper does for {@code List<Task>}: properties in declaration order, nulls
+ * written, timestamps as ISO_LOCAL_DATE_TIME strings, and strings escaped the way Jackson's UTF-8
+ * generator escapes them (control characters and surrogates as uppercase hex escapes, everything
+ * else raw UTF-8). Field names are encoded once; the date part of a timestamp is formatted once
+ * per calendar day, since a user's tasks cluster on a few days.
+ *
+ * <p>Not thread safe; one instance per response.
+ */
+public final class TaskJsonWriter {
+
+    private static final byte[] ID = ascii("{\"id\":");
+    private static final byte[] NAME = ascii(",\"name\":");
+    private static final byte[] DESCRIPTION = ascii(",\"description\":");
+    private static final byte[] COMPLETED = ascii(",\"completed\":");
+    private static final byte[] USER_ID = ascii(",\"userId\":");
+    private static final byte[] CREATED_AT = ascii(",\"createdAt\":");
+    private static final byte[] UPDATED_AT = ascii(",\"updatedAt\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    // Characters below 0x80 that need escaping: 0 none, -1 \\uXXXX, otherwise the escape letter
+    private static final int[] ESCAPES = new int[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = -1;
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+    }
+
+    // Worst case for one char is a six byte \\uXXXX escape
+    private static final int MAX_CHAR_BYTES = 6;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+
+    // Opening quote and yyyy-MM-ddT of the last timestamp written, keyed by year/month/day
+    private final byte[] datePrefix = new byte[12];
+    private int datePrefixKey = -1;
+
+    public TaskJsonWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes {@code tasks} as one JSON array and flushes the stream, without closing it.
+     */
+    public static void write(List<Task> tasks, OutputStream out) throws IOException {
+        new TaskJsonWriter(out).writeArray(tasks);
+    }
+
+    public void writeArray(List<Task> tasks) throws IOException {
+        ensure(1);
+        buffer[position++] = '[';
+        for (int i = 0, size = tasks.size(); i < size; i++) {
+            if (i > 0) {
+                ensure(1);
+                buffer[position++] = ',';
+            }
+            writeTask(tasks.get(i));
+        }
+        ensure(1);
+        buffer[position++] = ']';
+        drain();
+        out.flush();
+    }
+
+    private void writeTask(Task task) throws IOException {
+        raw(ID);
+        string(task.getId());
+        raw(NAME);
+        string(task.getName());
+        raw(DESCRIPTION);
+        string(task.getDescription());
+        raw(COMPLETED);
+        raw(task.isCompleted() ? TRUE : FALSE);
+        raw(USER_ID);
+        string(task.getUserId());
+        raw(CREATED_AT);
+        timestamp(task.getCreatedAt());
+        raw(UPDATED_AT);
+        timestamp(task.getUpdatedAt());
+        ensure(1);
+        buffer[position++] = '}';
+    }
+
+    private void string(String value) throws IOException {
+        if (value == null) {
+            raw(NULL);
+            return;
+        }
+        ensure(1);
+        buffer[position++] = '"';
+        for (int i = 0, length = value.length(); i < length; i++) {
+            ensure(MAX_CHAR_BYTES);
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                int escape = ESCAPES[c];
+                if (escape == 0) {
+                    buffer[position++] = (byte) c;
+                } else if (escape > 0) {
+                    buffer[position++] = '\\';
+                    buffer[position++] = (byte) escape;
+                } else {
+                    unicodeEscape(c);
+                }
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Jackson writes each half as an escape rather than combining the pair
+                unicodeEscape(c);
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        ensure(1);
+        buffer[position++] = '"';
+    }
+
+    private void unicodeEscape(char c) {
+        buffer[position++] = '\\';
+        buffer[position++] = 'u';
+        buffer[position++] = HEX[(c >> 12) & 0xF];
+        buffer[position++] = HEX[(c >> 8) & 0xF];
+        buffer[position++] = HEX[(c >> 4) & 0xF];
+        buffer[position++] = HEX[c & 0xF];
+    }
+
+    // Same text as DateTimeFormatter.ISO_LOCAL_DATE_TIME: seconds always, fraction without trailing zeros
+    private void timestamp(LocalDateTime value) throws IOException {
+        if (value == null) {
+            raw(NULL);
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            raw(ascii('"' + value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + '"'));
+            return;
+        }
+        int key = (year << 9) | (value.getMonthValue() << 5) | value.getDayOfMonth();
+        if (key != datePrefixKey) {
+            datePrefix[0] = '"';
+            digits4(datePrefix, 1, year);
+            datePrefix[5] = '-';
+            digits2(datePrefix, 6, value.getMonthValue());
+            datePrefix[8] = '-';
+            digits2(datePrefix, 9, value.getDayOfMonth());
+            datePrefix[11] = 'T';
+            datePrefixKey = key;
+        }
+        raw(datePrefix);
+        // HH:mm:ss.nnnnnnnnn"
+        ensure(19);
+        digits2(buffer, position, value.getHour());
+        buffer[position + 2] = ':';
+        digits2(buffer, position + 3, value.getMinute());
+        buffer[position + 5] = ':';
+        digits2(buffer, position + 6, value.getSecond());
+        position += 8;
+        int nano = value.getNano();
+        if (nano != 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[position] = '.';
+            for (int i = digits; i > 0; i--) {
+                buffer[position + i] = (byte) ('0' + nano % 10);
+                nano /= 10;
+            }
+            position += digits + 1;
+        }
+        buffer[position++] = '"';
+    }
+
+    private static void digits2(byte[] target, int offset, int value) {
+        target[offset] = (byte) ('0' + value / 10);
+        target[offset + 1] = (byte) ('0' + value % 10);
+    }
+
+    private static void digits4(byte[] target, int offset, int value) {
+        digits2(target, offset, value / 100);
+        digits2(target, offset + 2, value % 100);
+    }
+
+    private void raw(byte[] bytes) throws IOException {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
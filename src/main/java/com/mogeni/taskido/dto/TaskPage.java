@@ -0,0 +1,28 @@
+package com.mogeni.taskido.dto;
+
+import java.util.List;
+
+public class TaskPage {
+
+    private List<?> items;
+    private String next;
+
+    public TaskPage(List<?> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    // Getters and Setters
+    public List<?> getItems() {
+        return items;
+    }
+    public void setItems(List<?> items) {
+        this.items = items;
+    }
+    public String getNext() {
+        return next;
+    }
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
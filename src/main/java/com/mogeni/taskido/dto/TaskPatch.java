@@ -0,0 +1,69 @@
+package com.mogeni.taskido.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.mogeni.taskido.exception.BadRequestException;
+import jakarta.validation.constraints.Size;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JSON Merge Patch body for a task: only the fields present in the request are changed.
+ * Setters record presence so an explicit {@code "description": null} clears the description
+ * while an absent field is left alone.
+ */
+public class TaskPatch {
+
+    @Size(min = 1, max = 100, message = "Task name must be between 1 and 100 characters")
+    private String name;
+
+    @Size(max = 1000, message = "Description must be less than 1000 characters")
+    private String description;
+
+    private Boolean completed;
+
+    @JsonIgnore
+    private final Map<String, Object> changes = new LinkedHashMap<>();
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    public void setName(String name) {
+        this.name = name;
+        changes.put("name", name);
+    }
+    public String getDescription() {
+        return description;
+    }
+    public void setDescription(String description) {
+        this.description = description;
+        changes.put("description", description);
+    }
+    public Boolean getCompleted() {
+        return completed;
+    }
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+        changes.put("completed", completed);
+    }
+
+    // Fields supplied in the request, keyed by document field name
+    @JsonIgnore
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Rejects the explicit nulls the bean constraints let through: name and completed cannot be
+     * cleared.
+     */
+    public void validate() {
+        if (changes.containsKey("name") && (name == null || name.isBlank())) {
+            throw new BadRequestException("Task name required");
+        }
+        if (changes.containsKey("completed") && completed == null) {
+            throw new BadRequestException("completed must be true or false");
+        }
+    }
+}
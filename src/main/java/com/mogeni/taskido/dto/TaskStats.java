@@ -0,0 +1,110 @@
+package com.mogeni.taskido.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class TaskStats {
+
+    private String period;
+    private long created;
+    private long completed;
+    private long reopened;
+    // Estimated from a log-scale histogram; null when nothing was completed in the range
+    private Long medianTimeToCompleteMs;
+    private List<Bucket> buckets;
+
+    public TaskStats(String period, long created, long completed, long reopened, Long medianTimeToCompleteMs, List<Bucket> buckets) {
+        this.period = period;
+        this.created = created;
+        this.completed = completed;
+        this.reopened = reopened;
+        this.medianTimeToCompleteMs = medianTimeToCompleteMs;
+        this.buckets = buckets;
+    }
+
+    // Getters and Setters
+    public String getPeriod() {
+        return period;
+    }
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+    public long getCreated() {
+        return created;
+    }
+    public void setCreated(long created) {
+        this.created = created;
+    }
+    public long getCompleted() {
+        return completed;
+    }
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+    public long getReopened() {
+        return reopened;
+    }
+    public void setReopened(long reopened) {
+        this.reopened = reopened;
+    }
+    public Long getMedianTimeToCompleteMs() {
+        return medianTimeToCompleteMs;
+    }
+    public void setMedianTimeToCompleteMs(Long medianTimeToCompleteMs) {
+        this.medianTimeToCompleteMs = medianTimeToCompleteMs;
+    }
+    public List<Bucket> getBuckets() {
+        return buckets;
+    }
+    public void setBuckets(List<Bucket> buckets) {
+        this.buckets = buckets;
+    }
+
+    public static class Bucket {
+        // First day of the bucket
+        private LocalDate start;
+        private long created;
+        private long completed;
+        private long reopened;
+        private Long medianTimeToCompleteMs;
+
+        public Bucket(LocalDate start, long created, long completed, long reopened, Long medianTimeToCompleteMs) {
+            this.start = start;
+            this.created = created;
+            this.completed = completed;
+            this.reopened = reopened;
+            this.medianTimeToCompleteMs = medianTimeToCompleteMs;
+        }
+
+        public LocalDate getStart() {
+            return start;
+        }
+        public void setStart(LocalDate start) {
+            this.start = start;
+        }
+        public long getCreated() {
+            return created;
+        }
+        public void setCreated(long created) {
+            this.created = created;
+        }
+        public long getCompleted() {
+            return completed;
+        }
+        public void setCompleted(long completed) {
+            this.completed = completed;
+        }
+        public long getReopened() {
+            return reopened;
+        }
+        public void setReopened(long reopened) {
+            this.reopened = reopened;
+        }
+        public Long getMedianTimeToCompleteMs() {
+            return medianTimeToCompleteMs;
+        }
+        public void setMedianTimeToCompleteMs(Long medianTimeToCompleteMs) {
+            this.medianTimeToCompleteMs = medianTimeToCompleteMs;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.mogeni.taskido.dto;
+
+public class TaskSummary {
+
+    private long total;
+    private long completed;
+    private long pending;
+
+    public TaskSummary(long total, long completed) {
+        this.total = total;
+        this.completed = completed;
+        this.pending = total - completed;
+    }
+
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+    public void setTotal(long total) {
+        this.total = total;
+    }
+    public long getCompleted() {
+        return completed;
+    }
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+    public long getPending() {
+        return pending;
+    }
+    public void setPending(long pending) {
+        this.pending = pending;
+    }
+}
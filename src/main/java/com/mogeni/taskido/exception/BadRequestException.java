@@ -0,0 +1,16 @@
+package com.mogeni.taskido.exception;
+
+/**
+ * Input the client got wrong, such as a malformed cursor or an unknown field; answered with 400
+ * and this message by {@link GlobalExceptionHandler}.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -3,11 +3,21 @@ package com.mogeni.taskido.model;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "tasks")
+@CompoundIndexes({
+        // Listing and keyset paging: userId equality, newest first, _id as tiebreaker
+        @CompoundIndex(name = "user_created_idx", def = "{'userId': 1, 'createdAt': -1, '_id': -1}"),
+        // Status filter: userId + completed equality, newest first
+        @CompoundIndex(name = "user_completed_created_idx", def = "{'userId': 1, 'completed': 1, 'createdAt': -1, '_id': -1}"),
+        // Delta sync: userId equality, oldest change first, _id as tiebreaker
+        @CompoundIndex(name = "user_updated_idx", def = "{'userId': 1, 'updatedAt': 1, '_id': 1}")
+})
 public class Task {
     @Id
     private String id;
@@ -37,6 +47,18 @@ public class Task {
         this.userId = userId;
     }
 
+    // Full state as stored, without the timestamp side effects of the constructors and setters
+    public Task(String id, String name, String description, boolean completed, String userId,
+                LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.completed = completed;
+        this.userId = userId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public String getId() {
         return id;
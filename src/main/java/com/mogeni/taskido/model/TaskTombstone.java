@@ -0,0 +1,57 @@
+package com.mogeni.taskido.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a deleted task so delta-sync clients learn about the deletion. Removed by
+ * a TTL index after the retention period (see TaskTombstoneRetention).
+ */
+@Document(collection = "task_tombstones")
+@CompoundIndex(name = "user_deleted_idx", def = "{'userId': 1, 'deletedAt': 1, '_id': 1}")
+public class TaskTombstone {
+    // Same id as the deleted task
+    @Id
+    private String id;
+
+    private String userId;
+    private LocalDateTime deletedAt;
+
+    // Constructors
+    public TaskTombstone() {
+    }
+
+    public TaskTombstone(String id, String userId, LocalDateTime deletedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
@@ -49,6 +49,18 @@ public class User {
         this.password = password;
     }
 
+    // Full state as stored, without the timestamp side effects of the constructors and setters
+    public User(String id, String username, String email, String password, Set<String> roles,
+                LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.password = password;
+        this.roles = roles;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public String getId() {
         return id;
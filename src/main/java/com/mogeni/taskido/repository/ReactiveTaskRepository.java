@@ -0,0 +1,14 @@
+package com.mogeni.taskido.repository;
+
+import com.mogeni.taskido.model.Task;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveTaskRepository extends ReactiveMongoRepository<Task, String>, ReactiveTaskRepositoryCustom {
+    Flux<Task> findByUserIdOrderByCreatedAtDesc(String userId);
+    Flux<Task> findByUserIdAndCompletedOrderByCreatedAtDesc(String userId, boolean completed);
+    Mono<Task> findByIdAndUserId(String id, String userId);
+}
@@ -0,0 +1,28 @@
+package com.mogeni.taskido.repository;
+
+import com.mogeni.taskido.model.Task;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of {@link TaskRepositoryCustom}; see there for the semantics of each method.
+ */
+public interface ReactiveTaskRepositoryCustom {
+    Flux<Task> findPageByUserId(String userId, Boolean completed, TaskCursor after, int limit, Collection<String> fields);
+
+    Flux<Task> findAllByUserId(String userId, Boolean completed, Collection<String> fields);
+
+    Flux<Task> searchByUserId(String userId, List<String> terms, int skip, int limit, Collection<String> fields);
+
+    Mono<TaskTransition> updateByIdAndUserId(String id, String userId, String name, String description, boolean completed);
+
+    Mono<TaskTransition> patchByIdAndUserId(String id, String userId, Map<String, Object> changes);
+
+    Mono<TaskTransition> toggleCompletedByIdAndUserId(String id, String userId);
+
+    Mono<Task> removeByIdAndUserId(String id, String userId);
+}
@@ -0,0 +1,65 @@
+package com.mogeni.taskido.repository;
+
+import com.mogeni.taskido.model.Task;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class ReactiveTaskRepositoryImpl implements ReactiveTaskRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<Task> findPageByUserId(String userId, Boolean completed, TaskCursor after, int limit, Collection<String> fields) {
+        return mongoTemplate.find(TaskQueries.page(userId, completed, after, limit, fields), Task.class);
+    }
+
+    @Override
+    public Flux<Task> findAllByUserId(String userId, Boolean completed, Collection<String> fields) {
+        return mongoTemplate.find(TaskQueries.list(userId, completed, fields), Task.class);
+    }
+
+    @Override
+    public Flux<Task> searchByUserId(String userId, List<String> terms, int skip, int limit, Collection<String> fields) {
+        return mongoTemplate.find(TaskQueries.search(userId, terms, skip, limit, fields), Task.class);
+    }
+
+    @Override
+    public Mono<TaskTransition> updateByIdAndUserId(String id, String userId, String name, String description, boolean completed) {
+        LocalDateTime now = TaskQueries.now();
+        return mongoTemplate.findAndModify(TaskQueries.ownedBy(id, userId),
+                        TaskQueries.replace(name, description, completed, now),
+                        TaskQueries.RETURN_OLD, Task.class)
+                .map(before -> TaskQueries.replaced(before, name, description, completed, now));
+    }
+
+    @Override
+    public Mono<TaskTransition> patchByIdAndUserId(String id, String userId, Map<String, Object> changes) {
+        LocalDateTime now = TaskQueries.now();
+        return mongoTemplate.findAndModify(TaskQueries.patchFilter(id, userId, changes),
+                        TaskQueries.patch(changes, now),
+                        TaskQueries.RETURN_OLD, Task.class)
+                .map(before -> TaskQueries.patched(before, changes, now));
+    }
+
+    @Override
+    public Mono<TaskTransition> toggleCompletedByIdAndUserId(String id, String userId) {
+        LocalDateTime now = TaskQueries.now();
+        return mongoTemplate.findAndModify(TaskQueries.ownedBy(id, userId),
+                        TaskQueries.toggle(now),
+                        TaskQueries.RETURN_OLD, Task.class)
+                .map(before -> TaskQueries.toggled(before, now));
+    }
+
+    @Override
+    public Mono<Task> removeByIdAndUserId(String id, String userId) {
+        return mongoTemplate.findAndRemove(TaskQueries.ownedBy(id, userId), Task.class);
+    }
+}
@@ -0,0 +1,36 @@
+package com.mogeni.taskido.repository;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Outcome of {@link TaskRepositoryCustom#bulkWrite}, keyed by each write's position in the list.
+ */
+public class TaskBulkResult {
+
+    private final Map<Integer, String> errors = new HashMap<>();
+    private final Set<Integer> unmatched = new HashSet<>();
+
+    public void error(int index, String message) {
+        errors.put(index, message);
+    }
+
+    public void unmatched(int index) {
+        unmatched.add(index);
+    }
+
+    // Writes that failed, such as an insert with a duplicate id
+    public Map<Integer, String> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Whether the update, toggle or delete found no task of the user's to change, typically
+     * because it was deleted since the caller read it.
+     */
+    public boolean isUnmatched(int index) {
+        return unmatched.contains(index);
+    }
+}
@@ -0,0 +1,55 @@
+package com.mogeni.taskido.repository;
+
+import com.mogeni.taskido.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a user's task list ordered by {@code createdAt desc, _id desc}.
+ * Encoded as an opaque URL-safe token so clients never depend on its layout. The change feed
+ * reuses it as an {@code (updatedAt/deletedAt, _id)} checkpoint.
+ */
+public class TaskCursor {
+
+    private final LocalDateTime createdAt;
+    private final String id;
+
+    public TaskCursor(LocalDateTime createdAt, String id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+        int sep = raw.indexOf('|');
+        if (sep <= 0 || sep == raw.length() - 1) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        try {
+            return new TaskCursor(LocalDateTime.parse(raw.substring(0, sep)), raw.substring(sep + 1));
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.mogeni.taskido.repository;
+
+import com.mogeni.taskido.model.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query and update definitions shared by the blocking and reactive task repositories, so both
+ * stacks issue exactly the same commands against the tasks collection.
+ */
+final class TaskQueries {
+
+    static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+    static final FindAndModifyOptions RETURN_OLD = FindAndModifyOptions.options().returnNew(false);
+
+    private TaskQueries() {
+    }
+
+    // Truncated to what MongoDB stores, so the in-memory after-image matches the document
+    static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    static Query page(String userId, Boolean completed, TaskCursor after, int limit, Collection<String> fields) {
+        Criteria criteria = userCriteria(userId, completed);
+        if (after != null) {
+            // Keyset seek: strictly older, or same timestamp with a lower id. Never skip/offset.
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(after.getCreatedAt()),
+                    Criteria.where("createdAt").is(after.getCreatedAt()).and("id").lt(after.getId())
+            );
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")))
+                .limit(limit);
+        // The next cursor is built from the last row, so its keys are always read
+        project(query, fields, "createdAt");
+        return query;
+    }
+
+    /**
+     * Documents of the user whose {@code timeField} is after {@code after} in (time, _id) order
+     * and not later than {@code until}, oldest first. Works for tasks and tombstones alike.
+     */
+    static Query changedSince(String userId, String timeField, TaskCursor after, LocalDateTime until, int limit) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (after != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where(timeField).gt(after.getCreatedAt()).lte(until),
+                    Criteria.where(timeField).is(after.getCreatedAt()).and("id").gt(after.getId())
+            );
+        } else {
+            criteria = criteria.and(timeField).lte(until);
+        }
+        return new Query(criteria)
+                .with(Sort.by(Sort.Order.asc(timeField), Sort.Order.asc("id")))
+                .limit(limit);
+    }
+
+    static Query list(String userId, Boolean completed, Collection<String> fields) {
+        Query query = new Query(userCriteria(userId, completed))
+                .with(Sort.by(Sort.Order.desc("createdAt")));
+        project(query, fields);
+        return query;
+    }
+
+    static Query search(String userId, List<String> terms, int skip, int limit, Collection<String> fields) {
+        // userId equality is required: it is the prefix of the compound text index
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matchingAny(terms.toArray(new String[0])))
+                .sortByScore()
+                .addCriteria(Criteria.where("userId").is(userId))
+                .skip(skip)
+                .limit(limit);
+        project(query, fields);
+        return query;
+    }
+
+    static Query ownedBy(String id, String userId) {
+        return new Query(Criteria.where("id").is(id).and("userId").is(userId));
+    }
+
+    static Query ownedIn(Collection<String> ids, String userId) {
+        Query query = new Query(Criteria.where("id").in(ids).and("userId").is(userId));
+        query.fields().include("id");
+        return query;
+    }
+
+    static Update replace(String name, String description, boolean completed, LocalDateTime now) {
+        return new Update()
+                .set("name", name)
+                .set("description", description)
+                .set("completed", completed)
+                .set("updatedAt", now);
+    }
+
+    // Matching only when something differs keeps no-op patches from writing or bumping updatedAt
+    static Query patchFilter(String id, String userId, Map<String, Object> changes) {
+        List<Criteria> differs = new ArrayList<>();
+        changes.forEach((field, value) -> differs.add(Criteria.where(field).ne(value)));
+        return ownedBy(id, userId).addCriteria(new Criteria().orOperator(differs));
+    }
+
+    static Update patch(Map<String, Object> changes, LocalDateTime now) {
+        Update update = new Update();
+        changes.forEach(update::set);
+        return update.set("updatedAt", now);
+    }
+
+    static AggregationUpdate toggle(LocalDateTime now) {
+        return AggregationUpdate.update()
+                .set("completed").toValue(BooleanOperators.Not.not("completed"))
+                .set("updatedAt").toValue(now);
+    }
+
+    // After-images of the updates above, from the document each matched (read with RETURN_OLD)
+
+    static TaskTransition replaced(Task before, String name, String description, boolean completed, LocalDateTime now) {
+        Task after = copy(before);
+        after.setName(name);
+        after.setDescription(description);
+        after.setCompleted(completed);
+        after.setUpdatedAt(now);
+        return new TaskTransition(before, after);
+    }
+
+    static TaskTransition patched(Task before, Map<String, Object> changes, LocalDateTime now) {
+        Task after = copy(before);
+        if (changes.containsKey("name")) {
+            after.setName((String) changes.get("name"));
+        }
+        if (changes.containsKey("description")) {
+            after.setDescription((String) changes.get("description"));
+        }
+        if (changes.containsKey("completed")) {
+            after.setCompleted((Boolean) changes.get("completed"));
+        }
+        after.setUpdatedAt(now);
+        return new TaskTransition(before, after);
+    }
+
+    static TaskTransition toggled(Task before, LocalDateTime now) {
+        Task after = copy(before);
+        after.setCompleted(!before.isCompleted());
+        after.setUpdatedAt(now);
+        return new TaskTransition(before, after);
+    }
+
+    private static Task copy(Task task) {
+        return new Task(task.getId(), task.getName(), task.getDescription(), task.isCompleted(), task.getUserId(),
+                task.getCreatedAt(), task.getUpdatedAt());
+    }
+
+    private static Criteria userCriteria(String userId, Boolean completed) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (completed != null) {
+            criteria = criteria.and("completed").is(completed);
+        }
+        return criteria;
+    }
+
+    // _id is returned by MongoDB unless excluded, so only the remaining fields need listing
+    private static void project(Query query, Collection<String> fields, String... required) {
+        if (fields == null) {
+            return;
+        }
+        for (String field : fields) {
+            query.fields().include(field);
+        }
+        for (String field : required) {
+            query.fields().include(field);
+        }
+    }
+}
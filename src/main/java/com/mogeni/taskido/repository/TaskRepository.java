@@ -2,17 +2,26 @@ package com.mogeni.taskido.repository;
 
 
 import com.mogeni.taskido.model.Task;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends MongoRepository<Task, String> {
+public interface TaskRepository extends MongoRepository<Task, String>, TaskRepositoryCustom {
     // Additional query methods can be defined here if needed
     List<Task> findByUserId(String userId);
+    @Query(value = "{ 'userId': ?0 }", fields = "{ 'name': 1 }")
+    List<Task> findNamesByUserId(String userId);
     List<Task> findByUserIdOrderByCreatedAtDesc(String userId);
+    // Cursor-backed; the caller must close the stream
+    @Meta(cursorBatchSize = 500)
+    Stream<Task> streamByUserIdOrderByCreatedAtDesc(String userId);
     List<Task> findByUserIdAndCompleted(String userId, boolean completed);
     List<Task> findByUserIdAndNameContainingIgnoreCase(String userId, String name);
     List<Task> findByUserIdAndCompletedOrderByCreatedAtDesc(String userId, boolean completed);
@@ -23,5 +32,8 @@ public interface TaskRepository extends MongoRepository<Task, String> {
     List <Task> findByCompleted(boolean completed);
     List<Task> findByUserIdAndCompletedAndNameContainingIgnoreCase(String userId, boolean completed, String name);
     Optional<Task> findByIdAndUserId(String id, String userId);
-    void deleteByIdAndUserId(String id, String userId);
+    // Only what ownership checks and counter/rollup deltas need
+    @Query(value = "{ 'userId': ?0, '_id': { '$in': ?1 } }", fields = "{ '_id': 1, 'completed': 1, 'createdAt': 1 }")
+    List<Task> findStatesByUserIdAndIdIn(String userId, Collection<String> ids);
+    long deleteByIdAndUserId(String id, String userId);
 }
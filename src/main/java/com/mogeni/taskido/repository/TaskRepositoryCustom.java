@@ -0,0 +1,72 @@
+package com.mogeni.taskido.repository;
+
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.model.TaskTombstone;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface TaskRepositoryCustom {
+    /**
+     * Returns up to {@code limit} tasks after {@code after} (or from the start when null),
+     * newest first. {@code completed} may be null to include both states. When {@code fields}
+     * is non-null only those fields (plus the cursor keys) are read from MongoDB.
+     */
+    List<Task> findPageByUserId(String userId, Boolean completed, TaskCursor after, int limit, Collection<String> fields);
+
+    /**
+     * Tasks created or updated after {@code after} (from the start when null) up to and including
+     * {@code until}, in {@code updatedAt, _id} order.
+     */
+    List<Task> findChangedByUserId(String userId, TaskCursor after, LocalDateTime until, int limit);
+
+    /**
+     * Tombstones of tasks deleted after {@code after} up to and including {@code until}, in
+     * {@code deletedAt, _id} order.
+     */
+    List<TaskTombstone> findDeletedByUserId(String userId, TaskCursor after, LocalDateTime until, int limit);
+
+    /**
+     * All of the user's tasks newest first, reading only {@code fields} (all when null).
+     */
+    List<Task> findAllByUserId(String userId, Boolean completed, Collection<String> fields);
+
+    /**
+     * Full-text search over name and description using the tasks text index, best matches first.
+     */
+    List<Task> searchByUserId(String userId, List<String> terms, int skip, int limit, Collection<String> fields);
+
+    /**
+     * Atomically sets name, description and completed on the user's task. Returns the task before
+     * and after the update, or null if the user has no such task.
+     */
+    TaskTransition updateByIdAndUserId(String id, String userId, String name, String description, boolean completed);
+
+    /**
+     * Atomically applies {@code changes} with $set and bumps updatedAt, but only if at least one
+     * value actually differs from what is stored. Returns the task before and after the update,
+     * or null if the user has no such task or nothing would change.
+     */
+    TaskTransition patchByIdAndUserId(String id, String userId, Map<String, Object> changes);
+
+    /**
+     * Atomically flips completed server-side. Returns the task before and after the flip, or null
+     * if the user has no such task. Concurrent toggles never overwrite each other.
+     */
+    TaskTransition toggleCompletedByIdAndUserId(String id, String userId);
+
+    /**
+     * Atomically deletes the user's task and returns it, or null if the user has no such task.
+     */
+    Task removeByIdAndUserId(String id, String userId);
+
+    /**
+     * Runs the writes scoped to {@code userId}, batched into as few round trips as possible.
+     * Inserts must carry a fully prepared task (id, userId, timestamps). Reports write errors and
+     * the writes that matched no task by their position in {@code writes}; in ordered mode nothing
+     * after the first error runs.
+     */
+    TaskBulkResult bulkWrite(String userId, List<TaskWrite> writes, boolean ordered);
+}
@@ -0,0 +1,156 @@
+package com.mogeni.taskido.repository;
+
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.model.TaskTombstone;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Task> findPageByUserId(String userId, Boolean completed, TaskCursor after, int limit, Collection<String> fields) {
+        return mongoTemplate.find(TaskQueries.page(userId, completed, after, limit, fields), Task.class);
+    }
+
+    @Override
+    public List<Task> findChangedByUserId(String userId, TaskCursor after, LocalDateTime until, int limit) {
+        return mongoTemplate.find(TaskQueries.changedSince(userId, "updatedAt", after, until, limit), Task.class);
+    }
+
+    @Override
+    public List<TaskTombstone> findDeletedByUserId(String userId, TaskCursor after, LocalDateTime until, int limit) {
+        return mongoTemplate.find(TaskQueries.changedSince(userId, "deletedAt", after, until, limit), TaskTombstone.class);
+    }
+
+    @Override
+    public List<Task> findAllByUserId(String userId, Boolean completed, Collection<String> fields) {
+        return mongoTemplate.find(TaskQueries.list(userId, completed, fields), Task.class);
+    }
+
+    @Override
+    public List<Task> searchByUserId(String userId, List<String> terms, int skip, int limit, Collection<String> fields) {
+        return mongoTemplate.find(TaskQueries.search(userId, terms, skip, limit, fields), Task.class);
+    }
+
+    @Override
+    public TaskTransition updateByIdAndUserId(String id, String userId, String name, String description, boolean completed) {
+        LocalDateTime now = TaskQueries.now();
+        Task before = mongoTemplate.findAndModify(TaskQueries.ownedBy(id, userId),
+                TaskQueries.replace(name, description, completed, now),
+                TaskQueries.RETURN_OLD, Task.class);
+        return before != null ? TaskQueries.replaced(before, name, description, completed, now) : null;
+    }
+
+    @Override
+    public TaskTransition patchByIdAndUserId(String id, String userId, Map<String, Object> changes) {
+        LocalDateTime now = TaskQueries.now();
+        Task before = mongoTemplate.findAndModify(TaskQueries.patchFilter(id, userId, changes),
+                TaskQueries.patch(changes, now),
+                TaskQueries.RETURN_OLD, Task.class);
+        return before != null ? TaskQueries.patched(before, changes, now) : null;
+    }
+
+    @Override
+    public TaskTransition toggleCompletedByIdAndUserId(String id, String userId) {
+        LocalDateTime now = TaskQueries.now();
+        Task before = mongoTemplate.findAndModify(TaskQueries.ownedBy(id, userId),
+                TaskQueries.toggle(now),
+                TaskQueries.RETURN_OLD, Task.class);
+        return before != null ? TaskQueries.toggled(before, now) : null;
+    }
+
+    @Override
+    public Task removeByIdAndUserId(String id, String userId) {
+        return mongoTemplate.findAndRemove(TaskQueries.ownedBy(id, userId), Task.class);
+    }
+
+    @Override
+    public TaskBulkResult bulkWrite(String userId, List<TaskWrite> writes, boolean ordered) {
+        TaskBulkResult result = new TaskBulkResult();
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> batched = new ArrayList<>();
+        for (int i = 0; i < writes.size(); i++) {
+            TaskWrite write = writes.get(i);
+            if (write.getKind() != TaskWrite.Kind.DELETE) {
+                batched.add(i);
+                continue;
+            }
+            // A bulk write only counts the documents it removed, so deletes run on their own to
+            // tell which of them removed nothing
+            if (ordered && !execute(userId, writes, batched, true, now, result)) {
+                return result;
+            }
+            if (mongoTemplate.remove(TaskQueries.ownedBy(write.getId(), userId), Task.class).getDeletedCount() == 0) {
+                result.unmatched(i);
+            }
+        }
+        execute(userId, writes, batched, ordered, now, result);
+        return result;
+    }
+
+    // Runs the writes at the given positions as one bulk write and clears them; false if any failed
+    private boolean execute(String userId, List<TaskWrite> writes, List<Integer> positions, boolean ordered,
+                            LocalDateTime now, TaskBulkResult result) {
+        if (positions.isEmpty()) {
+            return true;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(
+                ordered ? BulkOperations.BulkMode.ORDERED : BulkOperations.BulkMode.UNORDERED, Task.class);
+        List<String> targetIds = new ArrayList<>();
+        for (int position : positions) {
+            TaskWrite write = writes.get(position);
+            Query owned = TaskQueries.ownedBy(write.getId(), userId);
+            switch (write.getKind()) {
+                case INSERT -> bulk.insert(write.getTask());
+                case UPDATE -> bulk.updateOne(owned, TaskQueries.replace(write.getTask().getName(),
+                        write.getTask().getDescription(), write.getTask().isCompleted(), now));
+                case TOGGLE -> bulk.updateOne(owned, TaskQueries.toggle(now));
+                default -> throw new IllegalStateException("Deletes are not bulk written");
+            }
+            if (write.getKind() != TaskWrite.Kind.INSERT) {
+                targetIds.add(write.getId());
+            }
+        }
+        boolean failed = false;
+        int matched;
+        try {
+            matched = bulk.execute().getMatchedCount();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                result.error(positions.get(error.getIndex()), error.getMessage());
+            }
+            matched = e.getResult().getMatchedCount();
+            failed = true;
+        }
+        if (matched < targetIds.size()) {
+            // Updates match their task unless it was deleted meanwhile, so those still missing matched nothing
+            Set<String> existing = new HashSet<>();
+            for (Task task : mongoTemplate.find(TaskQueries.ownedIn(targetIds, userId), Task.class)) {
+                existing.add(task.getId());
+            }
+            for (int position : positions) {
+                TaskWrite write = writes.get(position);
+                if (write.getKind() != TaskWrite.Kind.INSERT && !existing.contains(write.getId())) {
+                    result.unmatched(position);
+                }
+            }
+        }
+        positions.clear();
+        return !failed;
+    }
+}
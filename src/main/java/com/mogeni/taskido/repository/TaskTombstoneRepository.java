@@ -0,0 +1,9 @@
+package com.mogeni.taskido.repository;
+
+import com.mogeni.taskido.model.TaskTombstone;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskTombstoneRepository extends MongoRepository<TaskTombstone, String> {
+}
@@ -0,0 +1,30 @@
+package com.mogeni.taskido.repository;
+
+import com.mogeni.taskido.model.Task;
+
+/**
+ * A task as it was right before an atomic update and as that update left it. Lets callers
+ * maintain derived data (counters, rollups) from exact deltas without a second read.
+ */
+public class TaskTransition {
+
+    private final Task before;
+    private final Task after;
+
+    public TaskTransition(Task before, Task after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    public Task getBefore() {
+        return before;
+    }
+
+    public Task getAfter() {
+        return after;
+    }
+
+    public boolean completedChanged() {
+        return before.isCompleted() != after.isCompleted();
+    }
+}
@@ -0,0 +1,53 @@
+package com.mogeni.taskido.repository;
+
+import com.mogeni.taskido.model.Task;
+
+/**
+ * One write of {@link TaskRepositoryCustom#bulkWrite}: inserting a prepared task, or updating,
+ * toggling or deleting one of the user's tasks by id.
+ */
+public class TaskWrite {
+
+    public enum Kind {
+        INSERT, UPDATE, TOGGLE, DELETE
+    }
+
+    private final Kind kind;
+    private final String id;
+    private final Task task;
+
+    private TaskWrite(Kind kind, String id, Task task) {
+        this.kind = kind;
+        this.id = id;
+        this.task = task;
+    }
+
+    public static TaskWrite insert(Task task) {
+        return new TaskWrite(Kind.INSERT, task.getId(), task);
+    }
+
+    // Replaces name, description and completed with the task's
+    public static TaskWrite update(String id, Task task) {
+        return new TaskWrite(Kind.UPDATE, id, task);
+    }
+
+    public static TaskWrite toggle(String id) {
+        return new TaskWrite(Kind.TOGGLE, id, null);
+    }
+
+    public static TaskWrite delete(String id) {
+        return new TaskWrite(Kind.DELETE, id, null);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+}
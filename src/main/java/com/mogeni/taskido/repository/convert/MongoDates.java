@@ -0,0 +1,28 @@
+package com.mogeni.taskido.repository.convert;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * LocalDateTime to and from BSON dates (epoch milliseconds), in the JVM default zone exactly as
+ * Spring Data's built-in converters do, so documents written here and query parameters converted
+ * by Spring Data keep comparing correctly.
+ */
+final class MongoDates {
+
+    // Resolved once: ZoneId.systemDefault() clones the default TimeZone on every call
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private MongoDates() {
+    }
+
+    static Date write(LocalDateTime time) {
+        return Date.from(time.atZone(ZONE).toInstant());
+    }
+
+    static LocalDateTime read(Object value) {
+        return value instanceof Date date ? LocalDateTime.ofInstant(Instant.ofEpochMilli(date.getTime()), ZONE) : null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.mogeni.taskido.repository.convert;
+
+import org.bson.types.ObjectId;
+
+/**
+ * String ids to and from {@code _id} values the way Spring Data maps a String {@code @Id}: stored
+ * as an ObjectId when the string is a valid one, as the string otherwise.
+ */
+final class MongoIds {
+
+    private MongoIds() {
+    }
+
+    static Object write(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    static String read(Object value) {
+        if (value instanceof ObjectId objectId) {
+            return objectId.toHexString();
+        }
+        return value != null ? value.toString() : null;
+    }
+}
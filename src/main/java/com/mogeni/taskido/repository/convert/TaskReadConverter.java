@@ -0,0 +1,27 @@
+package com.mogeni.taskido.repository.convert;
+
+import com.mogeni.taskido.model.Task;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+/**
+ * Builds a {@link Task} straight from its document through the full-state constructor, instead
+ * of the reflective mapping that instantiates through the no-arg constructor and then sets each
+ * property. Fields left out by a projection stay null (false for completed).
+ */
+@ReadingConverter
+public class TaskReadConverter implements Converter<Document, Task> {
+
+    @Override
+    public Task convert(Document source) {
+        return new Task(
+                MongoIds.read(source.get("_id")),
+                source.getString("name"),
+                source.getString("description"),
+                Boolean.TRUE.equals(source.get("completed")),
+                source.getString("userId"),
+                MongoDates.read(source.get("createdAt")),
+                MongoDates.read(source.get("updatedAt")));
+    }
+}
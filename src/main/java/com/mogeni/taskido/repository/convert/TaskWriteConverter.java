@@ -0,0 +1,39 @@
+package com.mogeni.taskido.repository.convert;
+
+import com.mogeni.taskido.model.Task;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.WritingConverter;
+
+/**
+ * Writes a {@link Task} in the same layout the reflective mapping used, minus the {@code _class}
+ * hint nothing reads. Null properties are left out, as before.
+ */
+@WritingConverter
+public class TaskWriteConverter implements Converter<Task, Document> {
+
+    @Override
+    public Document convert(Task source) {
+        Document document = new Document();
+        if (source.getId() != null) {
+            document.put("_id", MongoIds.write(source.getId()));
+        }
+        if (source.getName() != null) {
+            document.put("name", source.getName());
+        }
+        if (source.getDescription() != null) {
+            document.put("description", source.getDescription());
+        }
+        document.put("completed", source.isCompleted());
+        if (source.getUserId() != null) {
+            document.put("userId", source.getUserId());
+        }
+        if (source.getCreatedAt() != null) {
+            document.put("createdAt", MongoDates.write(source.getCreatedAt()));
+        }
+        if (source.getUpdatedAt() != null) {
+            document.put("updatedAt", MongoDates.write(source.getUpdatedAt()));
+        }
+        return document;
+    }
+}
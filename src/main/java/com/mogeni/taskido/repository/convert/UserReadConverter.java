@@ -0,0 +1,36 @@
+package com.mogeni.taskido.repository.convert;
+
+import com.mogeni.taskido.model.User;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Builds a {@link User} straight from its document through the full-state constructor.
+ */
+@ReadingConverter
+public class UserReadConverter implements Converter<Document, User> {
+
+    @Override
+    public User convert(Document source) {
+        Set<String> roles = null;
+        if (source.get("roles") instanceof Collection<?> stored) {
+            roles = new HashSet<>(stored.size() * 2);
+            for (Object role : stored) {
+                roles.add((String) role);
+            }
+        }
+        return new User(
+                MongoIds.read(source.get("_id")),
+                source.getString("username"),
+                source.getString("email"),
+                source.getString("password"),
+                roles,
+                MongoDates.read(source.get("createdAt")),
+                MongoDates.read(source.get("updatedAt")));
+    }
+}
@@ -0,0 +1,42 @@
+package com.mogeni.taskido.repository.convert;
+
+import com.mogeni.taskido.model.User;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.ArrayList;
+
+/**
+ * Writes a {@link User} in the same layout the reflective mapping used, minus {@code _class}.
+ */
+@WritingConverter
+public class UserWriteConverter implements Converter<User, Document> {
+
+    @Override
+    public Document convert(User source) {
+        Document document = new Document();
+        if (source.getId() != null) {
+            document.put("_id", MongoIds.write(source.getId()));
+        }
+        if (source.getUsername() != null) {
+            document.put("username", source.getUsername());
+        }
+        if (source.getEmail() != null) {
+            document.put("email", source.getEmail());
+        }
+        if (source.getPassword() != null) {
+            document.put("password", source.getPassword());
+        }
+        if (source.getRoles() != null) {
+            document.put("roles", new ArrayList<>(source.getRoles()));
+        }
+        if (source.getCreatedAt() != null) {
+            document.put("createdAt", MongoDates.write(source.getCreatedAt()));
+        }
+        if (source.getUpdatedAt() != null) {
+            document.put("updatedAt", MongoDates.write(source.getUpdatedAt()));
+        }
+        return document;
+    }
+}
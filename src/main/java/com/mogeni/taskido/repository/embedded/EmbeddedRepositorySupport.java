@@ -0,0 +1,345 @@
+package com.mogeni.taskido.repository.embedded;
+
+import org.bson.types.ObjectId;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * The CRUD half of {@link MongoRepository} over a table of the {@link EmbeddedStore}. Entities
+ * are copied on the way in and out, as a round trip through MongoDB would, so callers never
+ * share state with the store. Generated ids are ObjectId hex strings. Sort, Pageable and
+ * query-by-example lookups scan the table; see {@link EntityQueries} for how they match MongoDB.
+ */
+abstract class EmbeddedRepositorySupport<T> implements MongoRepository<T, String> {
+
+    protected abstract String idOf(T entity);
+
+    protected abstract void assignId(T entity, String id);
+
+    /**
+     * The stored entity (not a copy), or null.
+     */
+    protected abstract T stored(String id);
+
+    protected abstract Collection<T> storedAll();
+
+    protected abstract void persist(T entity, boolean insert);
+
+    protected abstract void erase(String id);
+
+    protected abstract T copy(T entity);
+
+    @Override
+    public <S extends T> S save(S entity) {
+        if (idOf(entity) == null) {
+            assignId(entity, new ObjectId().toHexString());
+        }
+        persist(entity, false);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        if (idOf(entity) == null) {
+            assignId(entity, new ObjectId().toHexString());
+        }
+        persist(entity, true);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        List<S> inserted = new ArrayList<>();
+        for (S entity : entities) {
+            inserted.add(insert(entity));
+        }
+        return inserted;
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(stored(id)).map(this::copy);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return stored(id) != null;
+    }
+
+    @Override
+    public List<T> findAll() {
+        return storedAll().stream().map(this::copy).toList();
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        List<T> found = new ArrayList<>();
+        for (String id : ids) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    @Override
+    public long count() {
+        return storedAll().size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        erase(id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        erase(idOf(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::erase);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        storedAll().stream().map(this::idOf).toList().forEach(this::erase);
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        return new Query<T>(entity -> true, Function.identity()).sortBy(sort).all();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        return new Query<T>(entity -> true, Function.identity()).page(pageable);
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::one);
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::all);
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        return findBy(example, query -> query.sortBy(sort).all());
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return findBy(example, query -> query.page(pageable));
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::count);
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::exists);
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        Class<S> type = example.getProbeType();
+        return queryFunction.apply(new Query<>(entity -> EntityQueries.matches(example, entity), type::cast));
+    }
+
+    /**
+     * A query over the stored entities. Stored entities are replaced rather than changed on
+     * write, so they are filtered and sorted in place and only the results are copied.
+     */
+    private final class Query<R> implements FluentQuery.FetchableFluentQuery<R> {
+
+        private final Predicate<T> filter;
+        private final Sort sort;
+        private final int limit;
+        private final Collection<String> fields;
+        private final Function<? super T, ? extends R> mapper;
+
+        Query(Predicate<T> filter, Function<? super T, ? extends R> mapper) {
+            this(filter, Sort.unsorted(), 0, null, mapper);
+        }
+
+        private Query(Predicate<T> filter, Sort sort, int limit, Collection<String> fields, Function<? super T, ? extends R> mapper) {
+            this.filter = filter;
+            this.sort = sort;
+            this.limit = limit;
+            this.fields = fields;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public Query<R> sortBy(Sort sort) {
+            return new Query<>(filter, this.sort.and(sort), limit, fields, mapper);
+        }
+
+        @Override
+        public Query<R> limit(int limit) {
+            Assert.isTrue(limit >= 0, "Limit must not be negative");
+            return new Query<>(filter, sort, limit, fields, mapper);
+        }
+
+        @Override
+        public <P> Query<P> as(Class<P> resultType) {
+            return new Query<>(filter, sort, limit, fields, entity -> EntityQueries.convert(entity, resultType));
+        }
+
+        @Override
+        public Query<R> project(Collection<String> properties) {
+            return new Query<>(filter, sort, limit, List.copyOf(properties), mapper);
+        }
+
+        @Override
+        public R oneValue() {
+            List<T> found = matching(sort, 2);
+            if (found.size() > 1) {
+                throw new IncorrectResultSizeDataAccessException(1, found.size());
+            }
+            return found.isEmpty() ? null : result(found.get(0));
+        }
+
+        @Override
+        public R firstValue() {
+            List<T> found = matching(sort, 1);
+            return found.isEmpty() ? null : result(found.get(0));
+        }
+
+        @Override
+        public List<R> all() {
+            return results(matching(sort, limit));
+        }
+
+        @Override
+        public Stream<R> stream() {
+            return all().stream();
+        }
+
+        @Override
+        public Page<R> page(Pageable pageable) {
+            if (pageable.isUnpaged()) {
+                List<R> content = all();
+                return new PageImpl<>(content, pageable, content.size());
+            }
+            List<T> found = matching(sort.and(pageable.getSort()), 0);
+            List<R> content = results(found.stream()
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .toList());
+            return PageableExecutionUtils.getPage(content, pageable, found::size);
+        }
+
+        @Override
+        public Window<R> scroll(ScrollPosition position) {
+            if (position instanceof OffsetScrollPosition offset) {
+                long start = offset.isInitial() ? 0 : offset.getOffset() + 1;
+                List<T> found = matching(sort, 0).stream().skip(start).toList();
+                boolean hasNext = limit > 0 && found.size() > limit;
+                List<T> window = hasNext ? found.subList(0, limit) : found;
+                return Window.from(results(window), OffsetScrollPosition.positionFunction(start), hasNext);
+            }
+            if (position instanceof KeysetScrollPosition keyset) {
+                // Ties are broken by id, as MongoDB's keyset scrolling does with _id
+                Sort keys = sort.getOrderFor("id") != null || sort.getOrderFor("_id") != null ? sort : sort.and(Sort.by("_id"));
+                Sort order = keyset.scrollsBackward() ? reversed(keys) : keys;
+                List<T> found = matching(order, 0).stream()
+                        .filter(entity -> keyset.isInitial() || EntityQueries.compareToKeys(entity, keyset.getKeys(), order) > 0)
+                        .toList();
+                boolean hasNext = limit > 0 && found.size() > limit;
+                List<T> window = new ArrayList<>(hasNext ? found.subList(0, limit) : found);
+                if (keyset.scrollsBackward()) {
+                    Collections.reverse(window);
+                }
+                return Window.from(results(window), index -> {
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    for (Sort.Order key : keys) {
+                        values.put(key.getProperty(), EntityQueries.value(window.get(index), key.getProperty()));
+                    }
+                    return ScrollPosition.of(values, keyset.getDirection());
+                }, hasNext);
+            }
+            throw new InvalidDataAccessApiUsageException("Unsupported scroll position " + position);
+        }
+
+        @Override
+        public long count() {
+            return storedAll().stream().filter(filter).count();
+        }
+
+        @Override
+        public boolean exists() {
+            return storedAll().stream().anyMatch(filter);
+        }
+
+        private List<T> matching(Sort order, int max) {
+            Stream<T> found = storedAll().stream().filter(filter);
+            if (order.isSorted()) {
+                found = found.sorted(EntityQueries.comparator(order));
+            }
+            return max > 0 ? found.limit(max).toList() : found.toList();
+        }
+
+        private List<R> results(List<T> found) {
+            List<R> results = new ArrayList<>(found.size());
+            for (T entity : found) {
+                results.add(result(entity));
+            }
+            return results;
+        }
+
+        private R result(T entity) {
+            T copy = copy(entity);
+            return mapper.apply(fields == null ? copy : EntityQueries.project(copy, fields));
+        }
+    }
+
+    private static Sort reversed(Sort sort) {
+        return Sort.by(sort.stream()
+                .map(order -> order.with(order.getDirection().isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC))
+                .toList());
+    }
+}
@@ -0,0 +1,278 @@
+package com.mogeni.taskido.repository.embedded;
+
+import com.mogeni.taskido.dto.TaskSummary;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * In-process storage for tasks, tombstones, users and rollups, used instead of MongoDB under the
+ * {@code embedded} profile. All data lives in memory; with {@code tasks.storage.embedded.dir}
+ * set every write is also appended to a {@link WriteAheadLog} there, and the state is
+ * periodically written to a snapshot {@code snapshot-<segment>.dat} so a restart loads the
+ * snapshot and replays only the log segments from {@code <segment>} on. Snapshots are taken
+ * while writes continue: the log is rolled first, and because every record carries the full
+ * state of its entity, replaying a write the snapshot already contains is harmless.
+ */
+@Component
+@Profile("embedded")
+public class EmbeddedStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedStore.class);
+
+    private static final long SNAPSHOT_MAGIC = 0x54534b534e415031L;
+
+    /**
+     * Receives every task change, as {@link com.mogeni.taskido.service.TaskEventHub#publish}.
+     */
+    public interface TaskEventListener {
+        void publish(String userId, String event, Object data);
+    }
+
+    @Value("${tasks.storage.embedded.dir:}")
+    private String dir;
+
+    @Value("${tasks.storage.embedded.fsync-interval:100ms}")
+    private Duration fsyncInterval;
+
+    @Value("${tasks.storage.embedded.segment-size:64MB}")
+    private DataSize segmentSize;
+
+    @Value("${tasks.storage.embedded.snapshot-after:256MB}")
+    private DataSize snapshotAfter;
+
+    @Value("${tasks.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    final TaskTable tasks = new TaskTable(this::append);
+    final UserTable users = new UserTable(this::append);
+    final RollupTable rollups = new RollupTable(this::append);
+
+    // Bytes logged since the last snapshot
+    private final AtomicLong logged = new AtomicLong();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private Path path;
+    private WriteAheadLog log;
+    private ScheduledExecutorService maintenance;
+
+    @PostConstruct
+    void open() throws IOException {
+        if (!dir.isBlank()) {
+            path = Path.of(dir);
+            Files.createDirectories(path);
+            long segment = loadSnapshot();
+            log = new WriteAheadLog(path, Math.toIntExact(segmentSize.toBytes()), fsyncInterval.toMillis());
+            log.open(segment, payload -> replay(Records.decode(payload)));
+            logger.info("Embedded storage opened from {}: {} tasks, {} users",
+                    path.toAbsolutePath(), tasks.all().size(), users.all().size());
+        } else {
+            logger.info("Embedded storage is memory-only; set tasks.storage.embedded.dir to keep data across restarts");
+        }
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "embedded-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (log != null) {
+            maintenance.scheduleWithFixedDelay(this::snapshotIfDue, 10, 10, TimeUnit.SECONDS);
+        }
+        maintenance.scheduleWithFixedDelay(this::purgeTombstones, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        if (log != null) {
+            snapshot();
+            log.close();
+        }
+    }
+
+    public TaskSummary summary(String userId) {
+        return tasks.summary(userId);
+    }
+
+    public List<Document> rollups(String userId, String period, LocalDate first, LocalDate to) {
+        return rollups.read(userId, period, first, to);
+    }
+
+    public void incrementRollups(String userId, Map<String, Document> increments, Map<String, String[]> keys) {
+        rollups.increment(userId, increments, keys);
+    }
+
+    public void onTaskEvent(TaskEventListener listener) {
+        tasks.listen(listener);
+    }
+
+    /**
+     * Writes the current state to a new snapshot and drops the log segments and snapshots it
+     * supersedes.
+     */
+    public void snapshot() throws IOException {
+        if (log == null) {
+            return;
+        }
+        snapshotLock.lock();
+        try {
+            long segment = log.roll();
+            logged.set(0);
+            Path temporary = path.resolve("snapshot.tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+                out.writeLong(SNAPSHOT_MAGIC);
+                out.writeLong(segment);
+                CRC32C crc = new CRC32C();
+                try {
+                    tasks.write(record -> frame(out, crc, record));
+                    users.write(record -> frame(out, crc, record));
+                    rollups.write(record -> frame(out, crc, record));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                // Marks the snapshot complete; a file without it is never loaded
+                frame(out, crc, Records.end());
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temporary, snapshotFile(segment), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            for (long older : snapshots()) {
+                if (older < segment) {
+                    Files.deleteIfExists(snapshotFile(older));
+                }
+            }
+            log.deleteBefore(segment);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private void append(byte[] record) {
+        if (log != null) {
+            log.append(record);
+            logged.addAndGet(record.length + WriteAheadLog.HEADER);
+        }
+    }
+
+    private void replay(Records.Record record) {
+        switch (record.table) {
+            case Records.TASK, Records.TOMBSTONE -> tasks.apply(record);
+            case Records.USER -> users.apply(record);
+            case Records.ROLLUP -> rollups.apply(record);
+            default -> throw new IllegalStateException("Unexpected record table " + record.table);
+        }
+    }
+
+    /**
+     * Loads the newest snapshot, if any, and returns the first log segment it does not cover.
+     */
+    private long loadSnapshot() throws IOException {
+        List<Long> snapshots = snapshots();
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        long number = snapshots.get(snapshots.size() - 1);
+        try (FileChannel channel = FileChannel.open(snapshotFile(number), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < 16 || buffer.getLong(0) != SNAPSHOT_MAGIC) {
+                throw new IllegalStateException("Not an embedded storage snapshot: " + snapshotFile(number));
+            }
+            long segment = buffer.getLong(8);
+            boolean[] complete = new boolean[1];
+            WriteAheadLog.readRecords(buffer.position(16), payload -> {
+                Records.Record record = Records.decode(payload);
+                if (record.table == Records.END) {
+                    complete[0] = true;
+                } else {
+                    replay(record);
+                }
+            });
+            if (!complete[0]) {
+                throw new IllegalStateException("Embedded storage snapshot is damaged: " + snapshotFile(number));
+            }
+            return segment;
+        }
+    }
+
+    private void snapshotIfDue() {
+        if (logged.get() < snapshotAfter.toBytes()) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Embedded storage snapshot failed", e);
+        }
+    }
+
+    private void purgeTombstones() {
+        try {
+            int purged = tasks.purgeTombstones(LocalDateTime.now().minus(tombstoneRetention));
+            if (purged > 0) {
+                logger.info("Purged {} expired task tombstones", purged);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Purging expired task tombstones failed", e);
+        }
+    }
+
+    private static void frame(DataOutputStream out, CRC32C crc, byte[] record) {
+        crc.reset();
+        crc.update(record);
+        try {
+            out.writeInt(record.length);
+            out.writeInt((int) crc.getValue());
+            out.write(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Long> snapshots() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(path)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith("snapshot-") && name.endsWith(".dat"))
+                    .forEach(name -> numbers.add(Long.parseLong(name.substring(9, name.length() - 4))));
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+
+    private Path snapshotFile(long segment) {
+        return path.resolve(String.format("snapshot-%016d.dat", segment));
+    }
+}
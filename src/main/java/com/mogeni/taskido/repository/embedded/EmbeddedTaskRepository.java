@@ -0,0 +1,376 @@
+package com.mogeni.taskido.repository.embedded;
+
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.model.TaskTombstone;
+import com.mogeni.taskido.repository.TaskBulkResult;
+import com.mogeni.taskido.repository.TaskCursor;
+import com.mogeni.taskido.repository.TaskRepository;
+import com.mogeni.taskido.repository.TaskTransition;
+import com.mogeni.taskido.repository.TaskWrite;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * {@link TaskRepository} over the embedded store. Listing, paging and delta sync walk the
+ * per-user sorted views of {@link TaskTable}; projections leave unread fields null as the
+ * Task read converter does, and text search matches whole lower-cased words
+ * without stemming. Queries across all users scan every task.
+ */
+@Repository
+@Profile("embedded")
+public class EmbeddedTaskRepository extends EmbeddedRepositorySupport<Task> implements TaskRepository {
+
+    private static final Comparator<Task> NEWEST_FIRST = Comparator.comparing(Task::getCreatedAt)
+            .thenComparing(Task::getId)
+            .reversed();
+
+    @Autowired
+    private EmbeddedStore store;
+
+    @Override
+    public List<Task> findByUserId(String userId) {
+        return read(store.tasks.newest(userId, null), task -> true, null);
+    }
+
+    @Override
+    public List<Task> findNamesByUserId(String userId) {
+        return read(store.tasks.newest(userId, null), task -> true, List.of("name"));
+    }
+
+    @Override
+    public List<Task> findByUserIdOrderByCreatedAtDesc(String userId) {
+        return read(store.tasks.newest(userId, null), task -> true, null);
+    }
+
+    @Override
+    public Stream<Task> streamByUserIdOrderByCreatedAtDesc(String userId) {
+        // Copies lazily, so an export never holds more than the task being written
+        return store.tasks.newest(userId, null).values().stream().map(TaskTable::copy);
+    }
+
+    @Override
+    public List<Task> findByUserIdAndCompleted(String userId, boolean completed) {
+        return read(store.tasks.newest(userId, completed), task -> true, null);
+    }
+
+    @Override
+    public List<Task> findByUserIdAndNameContainingIgnoreCase(String userId, String name) {
+        return read(store.tasks.newest(userId, null), nameContains(name), null);
+    }
+
+    @Override
+    public List<Task> findByUserIdAndCompletedOrderByCreatedAtDesc(String userId, boolean completed) {
+        return read(store.tasks.newest(userId, completed), task -> true, null);
+    }
+
+    @Override
+    public List<Task> findByUserIdAndNameContainingIgnoreCaseOrderByCreatedAtDesc(String userId, String name) {
+        return read(store.tasks.newest(userId, null), nameContains(name), null);
+    }
+
+    @Override
+    public List<Task> findByNameContainingIgnoreCase(String name) {
+        return scan(nameContains(name), null);
+    }
+
+    @Override
+    public List<Task> findByCompletedOrderByCreatedAtDesc(boolean completed) {
+        return scan(task -> task.isCompleted() == completed, NEWEST_FIRST);
+    }
+
+    @Override
+    public List<Task> findAllByOrderByCreatedAtDesc() {
+        return scan(task -> true, NEWEST_FIRST);
+    }
+
+    @Override
+    public List<Task> findByCompleted(boolean completed) {
+        return scan(task -> task.isCompleted() == completed, null);
+    }
+
+    @Override
+    public List<Task> findByUserIdAndCompletedAndNameContainingIgnoreCase(String userId, boolean completed, String name) {
+        return read(store.tasks.newest(userId, completed), nameContains(name), null);
+    }
+
+    @Override
+    public Optional<Task> findByIdAndUserId(String id, String userId) {
+        Task task = store.tasks.get(id);
+        return task != null && userId.equals(task.getUserId()) ? Optional.of(TaskTable.copy(task)) : Optional.empty();
+    }
+
+    @Override
+    public List<Task> findStatesByUserIdAndIdIn(String userId, Collection<String> ids) {
+        List<Task> states = new ArrayList<>();
+        for (String id : ids) {
+            Task task = store.tasks.get(id);
+            if (task != null && userId.equals(task.getUserId())) {
+                states.add(project(task, List.of("completed", "createdAt")));
+            }
+        }
+        return states;
+    }
+
+    @Override
+    public long deleteByIdAndUserId(String id, String userId) {
+        return store.tasks.remove(id, userId) != null ? 1 : 0;
+    }
+
+    @Override
+    public List<Task> findPageByUserId(String userId, Boolean completed, TaskCursor after, int limit, Collection<String> fields) {
+        NavigableMap<TaskTable.Key, Task> view = store.tasks.newest(userId, completed);
+        if (after != null) {
+            view = view.tailMap(new TaskTable.Key(after.getCreatedAt(), after.getId()), false);
+        }
+        List<String> read = null;
+        if (fields != null) {
+            read = new ArrayList<>(fields);
+            read.add("createdAt");
+        }
+        List<Task> page = new ArrayList<>(Math.min(limit, 256));
+        for (Task task : view.values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(project(task, read));
+        }
+        return page;
+    }
+
+    @Override
+    public List<Task> findChangedByUserId(String userId, TaskCursor after, LocalDateTime until, int limit) {
+        List<Task> changed = new ArrayList<>(Math.min(limit, 256));
+        for (Task task : since(store.tasks.changes(userId), after, until).values()) {
+            if (changed.size() == limit) {
+                break;
+            }
+            changed.add(TaskTable.copy(task));
+        }
+        return changed;
+    }
+
+    @Override
+    public List<TaskTombstone> findDeletedByUserId(String userId, TaskCursor after, LocalDateTime until, int limit) {
+        List<TaskTombstone> deleted = new ArrayList<>(Math.min(limit, 256));
+        for (TaskTombstone tombstone : since(store.tasks.deletions(userId), after, until).values()) {
+            if (deleted.size() == limit) {
+                break;
+            }
+            deleted.add(TaskTable.copy(tombstone));
+        }
+        return deleted;
+    }
+
+    @Override
+    public List<Task> findAllByUserId(String userId, Boolean completed, Collection<String> fields) {
+        return read(store.tasks.newest(userId, completed), task -> true, fields);
+    }
+
+    @Override
+    public List<Task> searchByUserId(String userId, List<String> terms, int skip, int limit, Collection<String> fields) {
+        List<Map.Entry<Task, Integer>> matches = new ArrayList<>();
+        // Newest first, so the stable sort below breaks score ties by recency
+        for (Task task : store.tasks.newest(userId, null).values()) {
+            int score = score(task.getName(), terms) + score(task.getDescription(), terms);
+            if (score > 0) {
+                matches.add(Map.entry(task, score));
+            }
+        }
+        matches.sort(Map.Entry.<Task, Integer>comparingByValue().reversed());
+        return matches.stream()
+                .skip(skip)
+                .limit(limit)
+                .map(match -> project(match.getKey(), fields))
+                .toList();
+    }
+
+    @Override
+    public TaskTransition updateByIdAndUserId(String id, String userId, String name, String description, boolean completed) {
+        LocalDateTime now = LocalDateTime.now();
+        return store.tasks.modify(id, userId, task -> {
+            task.setName(name);
+            task.setDescription(description);
+            task.setCompleted(completed);
+            task.setUpdatedAt(now);
+            return task;
+        });
+    }
+
+    @Override
+    public TaskTransition patchByIdAndUserId(String id, String userId, Map<String, Object> changes) {
+        LocalDateTime now = LocalDateTime.now();
+        return store.tasks.modify(id, userId, task -> {
+            boolean differs = false;
+            if (changes.containsKey("name")) {
+                differs |= !Objects.equals(task.getName(), changes.get("name"));
+                task.setName((String) changes.get("name"));
+            }
+            if (changes.containsKey("description")) {
+                differs |= !Objects.equals(task.getDescription(), changes.get("description"));
+                task.setDescription((String) changes.get("description"));
+            }
+            if (changes.containsKey("completed")) {
+                differs |= !Objects.equals(task.isCompleted(), changes.get("completed"));
+                task.setCompleted((Boolean) changes.get("completed"));
+            }
+            task.setUpdatedAt(now);
+            return differs ? task : null;
+        });
+    }
+
+    @Override
+    public TaskTransition toggleCompletedByIdAndUserId(String id, String userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return store.tasks.modify(id, userId, task -> {
+            task.setCompleted(!task.isCompleted());
+            task.setUpdatedAt(now);
+            return task;
+        });
+    }
+
+    @Override
+    public Task removeByIdAndUserId(String id, String userId) {
+        return store.tasks.remove(id, userId);
+    }
+
+    @Override
+    public TaskBulkResult bulkWrite(String userId, List<TaskWrite> writes, boolean ordered) {
+        TaskBulkResult result = new TaskBulkResult();
+        for (int i = 0; i < writes.size(); i++) {
+            TaskWrite write = writes.get(i);
+            Task task = write.getTask();
+            try {
+                Object written = switch (write.getKind()) {
+                    case INSERT -> insert(task);
+                    case UPDATE -> updateByIdAndUserId(write.getId(), userId, task.getName(), task.getDescription(), task.isCompleted());
+                    case TOGGLE -> toggleCompletedByIdAndUserId(write.getId(), userId);
+                    case DELETE -> removeByIdAndUserId(write.getId(), userId);
+                };
+                if (written == null) {
+                    result.unmatched(i);
+                }
+            } catch (DuplicateKeyException e) {
+                result.error(i, e.getMessage());
+                if (ordered) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected String idOf(Task task) {
+        return task.getId();
+    }
+
+    @Override
+    protected void assignId(Task task, String id) {
+        task.setId(id);
+    }
+
+    @Override
+    protected Task stored(String id) {
+        return store.tasks.get(id);
+    }
+
+    @Override
+    protected Collection<Task> storedAll() {
+        return store.tasks.all();
+    }
+
+    @Override
+    protected void persist(Task task, boolean insert) {
+        store.tasks.put(task, insert);
+    }
+
+    @Override
+    protected void erase(String id) {
+        Task task = store.tasks.get(id);
+        if (task != null) {
+            store.tasks.remove(id, task.getUserId());
+        }
+    }
+
+    @Override
+    protected Task copy(Task task) {
+        return TaskTable.copy(task);
+    }
+
+    /**
+     * Entries after {@code after} (from the start when null) up to and including {@code until}.
+     */
+    private static <V> NavigableMap<TaskTable.Key, V> since(NavigableMap<TaskTable.Key, V> view, TaskCursor after, LocalDateTime until) {
+        TaskTable.Key last = new TaskTable.Key(until, null);
+        if (after == null) {
+            return view.headMap(last, true);
+        }
+        TaskTable.Key first = new TaskTable.Key(after.getCreatedAt(), after.getId());
+        return first.compareTo(last) < 0 ? view.subMap(first, false, last, true) : Collections.emptyNavigableMap();
+    }
+
+    private static List<Task> read(NavigableMap<TaskTable.Key, Task> view, Predicate<Task> filter, Collection<String> fields) {
+        List<Task> tasks = new ArrayList<>();
+        for (Task task : view.values()) {
+            if (filter.test(task)) {
+                tasks.add(project(task, fields));
+            }
+        }
+        return tasks;
+    }
+
+    private List<Task> scan(Predicate<Task> filter, Comparator<Task> order) {
+        Stream<Task> tasks = store.tasks.all().stream().filter(filter);
+        if (order != null) {
+            tasks = tasks.sorted(order);
+        }
+        return tasks.map(TaskTable::copy).toList();
+    }
+
+    private static Task project(Task task, Collection<String> fields) {
+        if (fields == null) {
+            return TaskTable.copy(task);
+        }
+        return new Task(task.getId(),
+                fields.contains("name") ? task.getName() : null,
+                fields.contains("description") ? task.getDescription() : null,
+                fields.contains("completed") && task.isCompleted(),
+                fields.contains("userId") ? task.getUserId() : null,
+                fields.contains("createdAt") ? task.getCreatedAt() : null,
+                fields.contains("updatedAt") ? task.getUpdatedAt() : null);
+    }
+
+    private static Predicate<Task> nameContains(String name) {
+        String needle = name.toLowerCase(Locale.ROOT);
+        return task -> task.getName() != null && task.getName().toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    private static int score(String text, List<String> terms) {
+        if (text == null) {
+            return 0;
+        }
+        int score = 0;
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (terms.contains(word)) {
+                score++;
+            }
+        }
+        return score;
+    }
+}
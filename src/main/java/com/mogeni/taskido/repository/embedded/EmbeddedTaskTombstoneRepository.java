@@ -0,0 +1,57 @@
+package com.mogeni.taskido.repository.embedded;
+
+import com.mogeni.taskido.model.TaskTombstone;
+import com.mogeni.taskido.repository.TaskTombstoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * {@link TaskTombstoneRepository} over the embedded store, which also expires tombstones after
+ * {@code tasks.sync.tombstone-retention} in place of the MongoDB TTL index.
+ */
+@Repository
+@Profile("embedded")
+public class EmbeddedTaskTombstoneRepository extends EmbeddedRepositorySupport<TaskTombstone> implements TaskTombstoneRepository {
+
+    @Autowired
+    private EmbeddedStore store;
+
+    @Override
+    protected String idOf(TaskTombstone tombstone) {
+        return tombstone.getId();
+    }
+
+    @Override
+    protected void assignId(TaskTombstone tombstone, String id) {
+        tombstone.setId(id);
+    }
+
+    @Override
+    protected TaskTombstone stored(String id) {
+        return store.tasks.tombstone(id);
+    }
+
+    @Override
+    protected Collection<TaskTombstone> storedAll() {
+        return store.tasks.tombstones();
+    }
+
+    // Tombstones are only ever written whole, so insert and save behave alike
+    @Override
+    protected void persist(TaskTombstone tombstone, boolean insert) {
+        store.tasks.put(tombstone);
+    }
+
+    @Override
+    protected void erase(String id) {
+        store.tasks.removeTombstone(id);
+    }
+
+    @Override
+    protected TaskTombstone copy(TaskTombstone tombstone) {
+        return TaskTable.copy(tombstone);
+    }
+}
@@ -0,0 +1,75 @@
+package com.mogeni.taskido.repository.embedded;
+
+import com.mogeni.taskido.model.User;
+import com.mogeni.taskido.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+@Profile("embedded")
+public class EmbeddedUserRepository extends EmbeddedRepositorySupport<User> implements UserRepository {
+
+    @Autowired
+    private EmbeddedStore store;
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        String id = store.users.idByUsername(username);
+        return id != null ? findById(id) : Optional.empty();
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        String id = store.users.idByEmail(email);
+        return id != null ? findById(id) : Optional.empty();
+    }
+
+    @Override
+    public Boolean existsByUsername(String username) {
+        return store.users.idByUsername(username) != null;
+    }
+
+    @Override
+    public Boolean existsByEmail(String email) {
+        return store.users.idByEmail(email) != null;
+    }
+
+    @Override
+    protected String idOf(User user) {
+        return user.getId();
+    }
+
+    @Override
+    protected void assignId(User user, String id) {
+        user.setId(id);
+    }
+
+    @Override
+    protected User stored(String id) {
+        return store.users.get(id);
+    }
+
+    @Override
+    protected Collection<User> storedAll() {
+        return store.users.all();
+    }
+
+    @Override
+    protected void persist(User user, boolean insert) {
+        store.users.put(user, insert);
+    }
+
+    @Override
+    protected void erase(String id) {
+        store.users.remove(id);
+    }
+
+    @Override
+    protected User copy(User user) {
+        return UserTable.copy(user);
+    }
+}
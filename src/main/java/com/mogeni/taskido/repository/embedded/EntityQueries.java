@@ -0,0 +1,212 @@
+package com.mogeni.taskido.repository.embedded;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.support.ExampleMatcherAccessor;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Sorting, query-by-example matching and projection of entities held in memory, with the
+ * semantics Spring Data MongoDB gives the same calls. Like the MongoDB mapping, entities are read
+ * and written through their persistent fields rather than accessors, so setters' side effects
+ * (Task's updatedAt) never apply.
+ */
+final class EntityQueries {
+
+    private static final SpelAwareProxyProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+    private static final Map<Class<?>, List<String>> FIELDS = new ConcurrentHashMap<>();
+
+    private EntityQueries() {
+    }
+
+    // Persistent fields of the type, as MongoDB maps them: non-static, non-transient
+    static List<String> fields(Class<?> type) {
+        return FIELDS.computeIfAbsent(type, t -> {
+            List<String> names = new ArrayList<>();
+            ReflectionUtils.doWithFields(t, field -> names.add(field.getName()),
+                    field -> !Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())
+                            && !field.isAnnotationPresent(Transient.class));
+            return Collections.unmodifiableList(names);
+        });
+    }
+
+    static Object value(Object entity, String property) {
+        String field = "_id".equals(property) ? "id" : property;
+        if (!fields(entity.getClass()).contains(field)) {
+            throw new InvalidDataAccessApiUsageException("No property " + property + " on " + entity.getClass().getSimpleName());
+        }
+        return new DirectFieldAccessor(entity).getPropertyValue(field);
+    }
+
+    /**
+     * MongoDB's order for {@code sort}: nulls before values ascending and after them descending
+     * unless the order says otherwise, arrays by their smallest element ascending and largest
+     * descending.
+     */
+    static <T> Comparator<T> comparator(Sort sort) {
+        Comparator<T> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            comparator = comparator.thenComparing((a, b) -> compare(value(a, order.getProperty()), value(b, order.getProperty()), order));
+        }
+        return comparator;
+    }
+
+    // Where the entity lies relative to a keyset position, in the order of sort
+    static int compareToKeys(Object entity, Map<String, ?> keys, Sort sort) {
+        for (Sort.Order order : sort) {
+            int result = compare(value(entity, order.getProperty()), keys.get(order.getProperty()), order);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static int compare(Object a, Object b, Sort.Order order) {
+        if (a == null || b == null) {
+            if (a == b) {
+                return 0;
+            }
+            boolean nullsFirst = order.getNullHandling() == Sort.NullHandling.NATIVE
+                    ? order.isAscending()
+                    : order.getNullHandling() == Sort.NullHandling.NULLS_FIRST;
+            return (a == null) == nullsFirst ? -1 : 1;
+        }
+        Object left = sortKey(a, order);
+        Object right = sortKey(b, order);
+        int result;
+        if (order.isIgnoreCase() && left instanceof String l && right instanceof String r) {
+            result = String.CASE_INSENSITIVE_ORDER.compare(l, r);
+        } else if (left instanceof Comparable<?> && left.getClass().isInstance(right)) {
+            @SuppressWarnings("unchecked")
+            Comparable<Object> comparable = (Comparable<Object>) left;
+            result = comparable.compareTo(right);
+        } else {
+            throw new InvalidDataAccessApiUsageException("Cannot sort by " + order.getProperty());
+        }
+        return order.isAscending() ? result : -result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object sortKey(Object value, Sort.Order order) {
+        if (value instanceof Collection<?> values && !values.isEmpty()) {
+            return order.isAscending() ? Collections.min((Collection) values) : Collections.max((Collection) values);
+        }
+        return value;
+    }
+
+    /**
+     * Whether the entity matches the example: every (or, for an any-matching example, some) probe
+     * property that is set, or null under {@link ExampleMatcher.NullHandler#INCLUDE}, matches.
+     */
+    static boolean matches(Example<?> example, Object entity) {
+        if (!example.getProbeType().isInstance(entity)) {
+            return false;
+        }
+        ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(example.getMatcher());
+        DirectFieldAccessor probe = new DirectFieldAccessor(example.getProbe());
+        DirectFieldAccessor candidate = new DirectFieldAccessor(entity);
+        boolean any = example.getMatcher().isAnyMatching();
+        boolean constrained = false;
+        for (String path : fields(example.getProbeType())) {
+            if (accessor.isIgnoredPath(path)) {
+                continue;
+            }
+            Object expected = accessor.getValueTransformerForPath(path)
+                    .apply(Optional.ofNullable(probe.getPropertyValue(path)))
+                    .orElse(null);
+            if (expected == null && accessor.getNullHandler() != ExampleMatcher.NullHandler.INCLUDE) {
+                continue;
+            }
+            constrained = true;
+            boolean matched = matches(accessor, path, expected, candidate.getPropertyValue(path));
+            if (matched == any) {
+                return any;
+            }
+        }
+        // An any-matching example without criteria matches everything, as its empty $or is dropped
+        return !any || !constrained;
+    }
+
+    private static boolean matches(ExampleMatcherAccessor accessor, String path, Object expected, Object actual) {
+        if (expected == null || actual == null) {
+            return expected == actual;
+        }
+        if (!(expected instanceof String text) || !(actual instanceof String value)) {
+            return expected.equals(actual);
+        }
+        boolean ignoreCase = accessor.isIgnoreCaseForPath(path);
+        ExampleMatcher.StringMatcher matcher = accessor.getStringMatcherForPath(path);
+        if (matcher == ExampleMatcher.StringMatcher.REGEX) {
+            return Pattern.compile(text, ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0).matcher(value).find();
+        }
+        String needle = ignoreCase ? text.toLowerCase(Locale.ROOT) : text;
+        String haystack = ignoreCase ? value.toLowerCase(Locale.ROOT) : value;
+        return switch (matcher) {
+            case STARTING -> haystack.startsWith(needle);
+            case ENDING -> haystack.endsWith(needle);
+            case CONTAINING -> haystack.contains(needle);
+            default -> haystack.equals(needle);
+        };
+    }
+
+    /**
+     * Clears every field of the (already copied) entity that is not in {@code fields}; the id is
+     * always kept, as MongoDB returns _id unless excluded.
+     */
+    static <T> T project(T entity, Collection<String> fields) {
+        DirectFieldAccessor accessor = new DirectFieldAccessor(entity);
+        for (String field : fields(entity.getClass())) {
+            if (!"id".equals(field) && !fields.contains(field)) {
+                Class<?> type = accessor.getPropertyType(field);
+                accessor.setPropertyValue(field, type != null && type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null);
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * The entity as {@code type}: itself if it already is one, a proxy for an interface
+     * projection, otherwise a DTO built through its constructor from same-named fields.
+     */
+    static <R> R convert(Object entity, Class<R> type) {
+        if (type.isInstance(entity)) {
+            return type.cast(entity);
+        }
+        if (type.isInterface()) {
+            return PROJECTIONS.createProjection(type, entity);
+        }
+        Constructor<R> constructor = BeanUtils.getResolvableConstructor(type);
+        String[] names = BeanUtils.getParameterNames(constructor);
+        DirectFieldAccessor source = new DirectFieldAccessor(entity);
+        Object[] arguments = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            arguments[i] = source.isReadableProperty(names[i]) ? source.getPropertyValue(names[i]) : null;
+        }
+        R converted = BeanUtils.instantiateClass(constructor, arguments);
+        if (names.length == 0) {
+            BeanUtils.copyProperties(entity, converted);
+        }
+        return converted;
+    }
+}
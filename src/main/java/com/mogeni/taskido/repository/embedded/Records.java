@@ -0,0 +1,230 @@
+package com.mogeni.taskido.repository.embedded;
+
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.model.TaskTombstone;
+import com.mogeni.taskido.model.User;
+import org.bson.Document;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binary layout of the records in the write-ahead log and in snapshots:
+ * {@code [byte table][byte op][key][value]}. A PUT carries the complete new state of the
+ * entity, never a delta, so replaying a record twice (once from a snapshot taken while writes
+ * were running, once from the log) leaves the same state. Timestamps are epoch milliseconds,
+ * strings are length-prefixed UTF-8.
+ */
+final class Records {
+
+    static final byte END = 0;
+    static final byte TASK = 1;
+    static final byte TOMBSTONE = 2;
+    static final byte USER = 3;
+    static final byte ROLLUP = 4;
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private Records() {
+    }
+
+    /**
+     * A decoded record; {@code value} is null for a DELETE.
+     */
+    static final class Record {
+        final byte table;
+        final byte op;
+        final String key;
+        final Object value;
+
+        Record(byte table, byte op, String key, Object value) {
+            this.table = table;
+            this.op = op;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    static byte[] put(Task task) {
+        return encode(TASK, PUT, task.getId(), out -> {
+            writeString(out, task.getName());
+            writeString(out, task.getDescription());
+            out.writeBoolean(task.isCompleted());
+            writeString(out, task.getUserId());
+            writeTime(out, task.getCreatedAt());
+            writeTime(out, task.getUpdatedAt());
+        });
+    }
+
+    static byte[] put(TaskTombstone tombstone) {
+        return encode(TOMBSTONE, PUT, tombstone.getId(), out -> {
+            writeString(out, tombstone.getUserId());
+            writeTime(out, tombstone.getDeletedAt());
+        });
+    }
+
+    static byte[] put(User user) {
+        return encode(USER, PUT, user.getId(), out -> {
+            writeString(out, user.getUsername());
+            writeString(out, user.getEmail());
+            writeString(out, user.getPassword());
+            Set<String> roles = user.getRoles();
+            out.writeInt(roles != null ? roles.size() : -1);
+            if (roles != null) {
+                for (String role : roles) {
+                    writeString(out, role);
+                }
+            }
+            writeTime(out, user.getCreatedAt());
+            writeTime(out, user.getUpdatedAt());
+        });
+    }
+
+    static byte[] putRollup(String id, Document bucket) {
+        return encode(ROLLUP, PUT, id, out -> {
+            writeString(out, bucket.getString("userId"));
+            writeString(out, bucket.getString("period"));
+            writeString(out, bucket.getString("start"));
+            out.writeLong(number(bucket, "created"));
+            out.writeLong(number(bucket, "completed"));
+            out.writeLong(number(bucket, "reopened"));
+            Document ttc = bucket.get("ttc", Document.class);
+            out.writeInt(ttc != null ? ttc.size() : 0);
+            if (ttc != null) {
+                for (Map.Entry<String, Object> bin : ttc.entrySet()) {
+                    out.writeInt(Integer.parseInt(bin.getKey()));
+                    out.writeLong(((Number) bin.getValue()).longValue());
+                }
+            }
+        });
+    }
+
+    static byte[] delete(byte table, String key) {
+        return encode(table, DELETE, key, out -> {
+        });
+    }
+
+    static byte[] end() {
+        return encode(END, PUT, "", out -> {
+        });
+    }
+
+    static Record decode(ByteBuffer in) {
+        byte table = in.get();
+        byte op = in.get();
+        String key = readString(in);
+        if (op == DELETE || table == END) {
+            return new Record(table, op, key, null);
+        }
+        Object value = switch (table) {
+            case TASK -> new Task(key, readString(in), readString(in), in.get() != 0, readString(in),
+                    readTime(in), readTime(in));
+            case TOMBSTONE -> new TaskTombstone(key, readString(in), readTime(in));
+            case USER -> {
+                String username = readString(in);
+                String email = readString(in);
+                String password = readString(in);
+                int count = in.getInt();
+                Set<String> roles = null;
+                if (count >= 0) {
+                    roles = new HashSet<>();
+                    for (int i = 0; i < count; i++) {
+                        roles.add(readString(in));
+                    }
+                }
+                yield new User(key, username, email, password, roles, readTime(in), readTime(in));
+            }
+            case ROLLUP -> {
+                Document bucket = new Document("userId", readString(in))
+                        .append("period", readString(in))
+                        .append("start", readString(in))
+                        .append("created", in.getLong())
+                        .append("completed", in.getLong())
+                        .append("reopened", in.getLong());
+                int bins = in.getInt();
+                Document ttc = new Document();
+                for (int i = 0; i < bins; i++) {
+                    ttc.append(Integer.toString(in.getInt()), in.getLong());
+                }
+                yield bucket.append("ttc", ttc);
+            }
+            default -> throw new IllegalStateException("Unknown record table " + table);
+        };
+        return new Record(table, op, key, value);
+    }
+
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] encode(byte table, byte op, String key, Writer value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(table);
+            out.writeByte(op);
+            writeString(out, key);
+            value.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * {@code time} as epoch milliseconds, or {@link Long#MIN_VALUE} for null. The offset is
+     * arbitrary but fixed; only the order and the round trip matter.
+     */
+    static long millis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : NULL_TIME;
+    }
+
+    static LocalDateTime time(long millis) {
+        return millis != NULL_TIME ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC) : null;
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(millis(time));
+    }
+
+    private static LocalDateTime readTime(ByteBuffer in) {
+        return time(in.getLong());
+    }
+
+    private static long number(Document document, String field) {
+        Number value = document.get(field, Number.class);
+        return value != null ? value.longValue() : 0L;
+    }
+}
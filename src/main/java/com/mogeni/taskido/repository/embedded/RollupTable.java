@@ -0,0 +1,89 @@
+package com.mogeni.taskido.repository.embedded;
+
+import org.bson.Document;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Completion rollup buckets of the embedded store, in the document shape TaskRollups reads.
+ * Bucket ids ({@code userId|period|start}) sort by start within a user and period, so a range
+ * read is a sub-map view. Buckets are replaced rather than mutated and the log gets the full
+ * bucket after each increment, never the increment itself.
+ */
+final class RollupTable {
+
+    private final ConcurrentHashMap<String, UserRollups> byUser = new ConcurrentHashMap<>();
+    private final Consumer<byte[]> log;
+
+    RollupTable(Consumer<byte[]> log) {
+        this.log = log;
+    }
+
+    List<Document> read(String userId, String period, LocalDate first, LocalDate to) {
+        UserRollups user = byUser.get(userId);
+        if (user == null) {
+            return List.of();
+        }
+        String prefix = userId + '|' + period + '|';
+        return new ArrayList<>(user.buckets.subMap(prefix + first, true, prefix + to, true).values());
+    }
+
+    void increment(String userId, Map<String, Document> increments, Map<String, String[]> keys) {
+        UserRollups user = byUser.computeIfAbsent(userId, id -> new UserRollups());
+        user.lock.lock();
+        try {
+            increments.forEach((id, inc) -> {
+                Document stored = user.buckets.get(id);
+                Document updated = stored != null ? copy(stored) : new Document("userId", userId)
+                        .append("period", keys.get(id)[0])
+                        .append("start", keys.get(id)[1]);
+                inc.forEach((field, delta) -> {
+                    Document target = updated;
+                    String name = field;
+                    int dot = field.indexOf('.');
+                    if (dot > 0) {
+                        target = (Document) updated.computeIfAbsent(field.substring(0, dot), parent -> new Document());
+                        name = field.substring(dot + 1);
+                    }
+                    target.merge(name, delta, (a, b) -> ((Number) a).longValue() + ((Number) b).longValue());
+                });
+                user.buckets.put(id, updated);
+                log.accept(Records.putRollup(id, updated));
+            });
+        } finally {
+            user.lock.unlock();
+        }
+    }
+
+    void apply(Records.Record record) {
+        Document bucket = (Document) record.value;
+        byUser.computeIfAbsent(bucket.getString("userId"), id -> new UserRollups()).buckets.put(record.key, bucket);
+    }
+
+    void write(Consumer<byte[]> out) {
+        for (UserRollups user : byUser.values()) {
+            user.buckets.forEach((id, bucket) -> out.accept(Records.putRollup(id, bucket)));
+        }
+    }
+
+    private static Document copy(Document stored) {
+        Document copy = new Document(stored);
+        Object ttc = stored.get("ttc");
+        if (ttc instanceof Document histogram) {
+            copy.put("ttc", new Document(histogram));
+        }
+        return copy;
+    }
+
+    private static final class UserRollups {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ConcurrentSkipListMap<String, Document> buckets = new ConcurrentSkipListMap<>();
+    }
+}
@@ -0,0 +1,373 @@
+package com.mogeni.taskido.repository.embedded;
+
+import com.mogeni.taskido.dto.TaskSummary;
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.model.TaskTombstone;
+import com.mogeni.taskido.repository.TaskTransition;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Tasks and tombstones of the embedded store. Besides the maps by id, every user has skip lists
+ * that mirror the MongoDB indexes: newest first overall and per completion state, and oldest
+ * change / deletion first for delta sync, so every list read is a keyset seek into a sorted view.
+ * Stored objects are never mutated after they are indexed; a write replaces them, and callers
+ * only ever get copies.
+ * <p>
+ * Writes to one user's tasks are serialized by that user's lock. Each write is applied in memory
+ * before its record is appended to the log, so a snapshot that starts after the append already
+ * sees the write.
+ */
+final class TaskTable {
+
+    private final ConcurrentHashMap<String, Task> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TaskTombstone> tombstonesById = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, UserTasks> byUser = new ConcurrentHashMap<>();
+    private final Consumer<byte[]> log;
+
+    private volatile EmbeddedStore.TaskEventListener listener = (userId, event, data) -> {
+    };
+
+    TaskTable(Consumer<byte[]> log) {
+        this.log = log;
+    }
+
+    void listen(EmbeddedStore.TaskEventListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Keyset position: a timestamp in epoch milliseconds and a task id. A null id sorts after
+     * every id of the same timestamp, which makes it an inclusive upper bound.
+     */
+    static final class Key implements Comparable<Key> {
+        private final long time;
+        private final String id;
+
+        Key(LocalDateTime time, String id) {
+            this.time = Records.millis(time);
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byTime = Long.compare(time, other.time);
+            if (byTime != 0) {
+                return byTime;
+            }
+            if (id == null || other.id == null) {
+                return id == null ? (other.id == null ? 0 : 1) : -1;
+            }
+            return id.compareTo(other.id);
+        }
+    }
+
+    Task get(String id) {
+        return byId.get(id);
+    }
+
+    TaskTombstone tombstone(String id) {
+        return tombstonesById.get(id);
+    }
+
+    Collection<Task> all() {
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
+    Collection<TaskTombstone> tombstones() {
+        return Collections.unmodifiableCollection(tombstonesById.values());
+    }
+
+    /**
+     * The user's tasks newest first, all of them or only those in one completion state.
+     */
+    NavigableMap<Key, Task> newest(String userId, Boolean completed) {
+        UserTasks user = byUser.get(userId);
+        if (user == null) {
+            return Collections.emptyNavigableMap();
+        }
+        NavigableMap<Key, Task> view = completed == null ? user.newest : completed ? user.completed : user.pending;
+        return Collections.unmodifiableNavigableMap(view);
+    }
+
+    /**
+     * The user's tasks in {@code updatedAt, id} order.
+     */
+    NavigableMap<Key, Task> changes(String userId) {
+        UserTasks user = byUser.get(userId);
+        return user != null ? Collections.unmodifiableNavigableMap(user.changes) : Collections.emptyNavigableMap();
+    }
+
+    /**
+     * The user's tombstones in {@code deletedAt, id} order.
+     */
+    NavigableMap<Key, TaskTombstone> deletions(String userId) {
+        UserTasks user = byUser.get(userId);
+        return user != null ? Collections.unmodifiableNavigableMap(user.deletions) : Collections.emptyNavigableMap();
+    }
+
+    TaskSummary summary(String userId) {
+        UserTasks user = byUser.get(userId);
+        if (user == null) {
+            return new TaskSummary(0, 0);
+        }
+        user.lock.lock();
+        try {
+            return new TaskSummary(user.total, user.completedCount);
+        } finally {
+            user.lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a copy of {@code task}, replacing the task with the same id unless {@code insert}
+     * is set, in which case an existing id is a duplicate key.
+     */
+    void put(Task task, boolean insert) {
+        Task stored = copy(task);
+        UserTasks user = user(stored.getUserId());
+        Task moved = null;
+        user.lock.lock();
+        try {
+            Task previous = insert ? byId.putIfAbsent(stored.getId(), stored) : byId.put(stored.getId(), stored);
+            if (insert && previous != null) {
+                throw new DuplicateKeyException("E11000 duplicate key error: _id " + stored.getId());
+            }
+            if (previous != null && !previous.getUserId().equals(stored.getUserId())) {
+                moved = previous;
+            } else if (previous != null) {
+                user.unindex(previous);
+            }
+            user.index(stored);
+            log.accept(Records.put(stored));
+            listener.publish(stored.getUserId(), previous == null ? "created" : "updated", copy(stored));
+        } finally {
+            user.lock.unlock();
+        }
+        if (moved != null) {
+            UserTasks former = user(moved.getUserId());
+            former.lock.lock();
+            try {
+                former.unindex(moved);
+            } finally {
+                former.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Replaces the user's task with {@code change} applied to a copy of it; a null result leaves
+     * the task as it is. Returns null when nothing was changed.
+     */
+    TaskTransition modify(String id, String userId, UnaryOperator<Task> change) {
+        UserTasks user = byUser.get(userId);
+        if (user == null) {
+            return null;
+        }
+        user.lock.lock();
+        try {
+            Task before = byId.get(id);
+            if (before == null || !userId.equals(before.getUserId())) {
+                return null;
+            }
+            Task changed = change.apply(copy(before));
+            if (changed == null) {
+                return null;
+            }
+            Task after = copy(changed);
+            byId.put(id, after);
+            user.unindex(before);
+            user.index(after);
+            log.accept(Records.put(after));
+            listener.publish(userId, "updated", copy(after));
+            return new TaskTransition(copy(before), copy(after));
+        } finally {
+            user.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the user's task and returns it, or null if the user has no such task.
+     */
+    Task remove(String id, String userId) {
+        UserTasks user = byUser.get(userId);
+        if (user == null) {
+            return null;
+        }
+        user.lock.lock();
+        try {
+            Task task = byId.get(id);
+            if (task == null || !userId.equals(task.getUserId())) {
+                return null;
+            }
+            byId.remove(id);
+            user.unindex(task);
+            log.accept(Records.delete(Records.TASK, id));
+            return copy(task);
+        } finally {
+            user.lock.unlock();
+        }
+    }
+
+    void put(TaskTombstone tombstone) {
+        TaskTombstone stored = copy(tombstone);
+        UserTasks user = user(stored.getUserId());
+        user.lock.lock();
+        try {
+            TaskTombstone previous = tombstonesById.put(stored.getId(), stored);
+            if (previous != null) {
+                deletions(previous).remove(new Key(previous.getDeletedAt(), previous.getId()));
+            }
+            user.deletions.put(new Key(stored.getDeletedAt(), stored.getId()), stored);
+            log.accept(Records.put(stored));
+            // Only new tombstones are announced, as with the MongoDB change stream's insert filter
+            if (previous == null) {
+                listener.publish(stored.getUserId(), "deleted", Map.of("id", stored.getId()));
+            }
+        } finally {
+            user.lock.unlock();
+        }
+    }
+
+    TaskTombstone removeTombstone(String id) {
+        TaskTombstone tombstone = tombstonesById.get(id);
+        if (tombstone == null) {
+            return null;
+        }
+        UserTasks user = user(tombstone.getUserId());
+        user.lock.lock();
+        try {
+            if (!tombstonesById.remove(id, tombstone)) {
+                return null;
+            }
+            user.deletions.remove(new Key(tombstone.getDeletedAt(), id));
+            log.accept(Records.delete(Records.TOMBSTONE, id));
+            return copy(tombstone);
+        } finally {
+            user.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every tombstone deleted at or before {@code cutoff}; returns how many.
+     */
+    int purgeTombstones(LocalDateTime cutoff) {
+        int purged = 0;
+        Key bound = new Key(cutoff, null);
+        for (UserTasks user : byUser.values()) {
+            for (TaskTombstone tombstone : user.deletions.headMap(bound, true).values()) {
+                if (removeTombstone(tombstone.getId()) != null) {
+                    purged++;
+                }
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * Applies a record read back from a snapshot or the log. Runs before the store is opened for
+     * requests, so nothing else touches the table.
+     */
+    void apply(Records.Record record) {
+        if (record.table == Records.TASK) {
+            Task previous = record.op == Records.PUT
+                    ? byId.put(record.key, (Task) record.value)
+                    : byId.remove(record.key);
+            if (previous != null) {
+                user(previous.getUserId()).unindex(previous);
+            }
+            if (record.op == Records.PUT) {
+                user(((Task) record.value).getUserId()).index((Task) record.value);
+            }
+        } else {
+            TaskTombstone previous = record.op == Records.PUT
+                    ? tombstonesById.put(record.key, (TaskTombstone) record.value)
+                    : tombstonesById.remove(record.key);
+            if (previous != null) {
+                deletions(previous).remove(new Key(previous.getDeletedAt(), previous.getId()));
+            }
+            if (record.op == Records.PUT) {
+                TaskTombstone tombstone = (TaskTombstone) record.value;
+                user(tombstone.getUserId()).deletions.put(new Key(tombstone.getDeletedAt(), tombstone.getId()), tombstone);
+            }
+        }
+    }
+
+    void write(Consumer<byte[]> out) {
+        for (Task task : byId.values()) {
+            out.accept(Records.put(task));
+        }
+        for (TaskTombstone tombstone : tombstonesById.values()) {
+            out.accept(Records.put(tombstone));
+        }
+    }
+
+    /**
+     * A detached copy with timestamps truncated to milliseconds, as MongoDB would store them.
+     */
+    static Task copy(Task task) {
+        return new Task(task.getId(), task.getName(), task.getDescription(), task.isCompleted(), task.getUserId(),
+                truncate(task.getCreatedAt()), truncate(task.getUpdatedAt()));
+    }
+
+    static TaskTombstone copy(TaskTombstone tombstone) {
+        return new TaskTombstone(tombstone.getId(), tombstone.getUserId(), truncate(tombstone.getDeletedAt()));
+    }
+
+    private static LocalDateTime truncate(LocalDateTime time) {
+        return time != null ? Records.time(Records.millis(time)) : null;
+    }
+
+    private UserTasks user(String userId) {
+        return byUser.computeIfAbsent(userId, id -> new UserTasks());
+    }
+
+    private ConcurrentSkipListMap<Key, TaskTombstone> deletions(TaskTombstone tombstone) {
+        return user(tombstone.getUserId()).deletions;
+    }
+
+    private static final class UserTasks {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ConcurrentSkipListMap<Key, Task> newest = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+        private final ConcurrentSkipListMap<Key, Task> completed = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+        private final ConcurrentSkipListMap<Key, Task> pending = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+        private final ConcurrentSkipListMap<Key, Task> changes = new ConcurrentSkipListMap<>();
+        private final ConcurrentSkipListMap<Key, TaskTombstone> deletions = new ConcurrentSkipListMap<>();
+        // Only touched under lock
+        private long total;
+        private long completedCount;
+
+        void index(Task task) {
+            Key created = new Key(task.getCreatedAt(), task.getId());
+            newest.put(created, task);
+            (task.isCompleted() ? completed : pending).put(created, task);
+            changes.put(new Key(task.getUpdatedAt(), task.getId()), task);
+            total++;
+            if (task.isCompleted()) {
+                completedCount++;
+            }
+        }
+
+        void unindex(Task task) {
+            Key created = new Key(task.getCreatedAt(), task.getId());
+            newest.remove(created);
+            (task.isCompleted() ? completed : pending).remove(created);
+            changes.remove(new Key(task.getUpdatedAt(), task.getId()));
+            total--;
+            if (task.isCompleted()) {
+                completedCount--;
+            }
+        }
+    }
+}
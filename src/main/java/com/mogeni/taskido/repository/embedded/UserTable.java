@@ -0,0 +1,109 @@
+package com.mogeni.taskido.repository.embedded;
+
+import com.mogeni.taskido.model.User;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Users of the embedded store, with the unique username and email lookups MongoDB keeps as
+ * unique indexes. Writes are rare (signup) and take one table-wide lock; reads never lock.
+ */
+final class UserTable {
+
+    private final ConcurrentHashMap<String, User> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> idByUsername = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> idByEmail = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Consumer<byte[]> log;
+
+    UserTable(Consumer<byte[]> log) {
+        this.log = log;
+    }
+
+    User get(String id) {
+        return byId.get(id);
+    }
+
+    String idByUsername(String username) {
+        return idByUsername.get(username);
+    }
+
+    String idByEmail(String email) {
+        return idByEmail.get(email);
+    }
+
+    Collection<User> all() {
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
+    void put(User user, boolean insert) {
+        User stored = copy(user);
+        lock.lock();
+        try {
+            User previous = byId.get(stored.getId());
+            if (insert && previous != null) {
+                throw new DuplicateKeyException("E11000 duplicate key error: _id " + stored.getId());
+            }
+            String byUsername = idByUsername.get(stored.getUsername());
+            String byEmail = idByEmail.get(stored.getEmail());
+            if (byUsername != null && !byUsername.equals(stored.getId())
+                    || byEmail != null && !byEmail.equals(stored.getId())) {
+                throw new DuplicateKeyException("E11000 duplicate key error: username or email " + stored.getUsername());
+            }
+            index(previous, stored);
+            log.accept(Records.put(stored));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    User remove(String id) {
+        lock.lock();
+        try {
+            User removed = byId.get(id);
+            if (removed == null) {
+                return null;
+            }
+            index(removed, null);
+            log.accept(Records.delete(Records.USER, id));
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void apply(Records.Record record) {
+        index(byId.get(record.key), (User) record.value);
+    }
+
+    void write(Consumer<byte[]> out) {
+        for (User user : byId.values()) {
+            out.accept(Records.put(user));
+        }
+    }
+
+    static User copy(User user) {
+        return new User(user.getId(), user.getUsername(), user.getEmail(), user.getPassword(),
+                user.getRoles() != null ? new HashSet<>(user.getRoles()) : null,
+                user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    private void index(User previous, User current) {
+        if (previous != null) {
+            idByUsername.remove(previous.getUsername(), previous.getId());
+            idByEmail.remove(previous.getEmail(), previous.getId());
+            byId.remove(previous.getId());
+        }
+        if (current != null) {
+            byId.put(current.getId(), current);
+            idByUsername.put(current.getUsername(), current.getId());
+            idByEmail.put(current.getEmail(), current.getId());
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.mogeni.taskido.repository.embedded;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of storage records in memory-mapped segment files {@code wal-<segment>.log}.
+ * Segments are mapped at full size up front; each record is framed as
+ * {@code [int length][int crc32c][payload]} and a zero length marks the end of the written part.
+ * Appends are serialized and only copy into the mapping; the dirty range is forced to disk every
+ * {@code fsyncIntervalMs} by a background thread, or within the append when that is 0.
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    static final int HEADER = 8;
+
+    private final Path dir;
+    private final int segmentSize;
+    private final long fsyncIntervalMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long segment;
+    private int forcedTo;
+    private ScheduledExecutorService flusher;
+
+    WriteAheadLog(Path dir, int segmentSize, long fsyncIntervalMs) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.fsyncIntervalMs = fsyncIntervalMs;
+    }
+
+    /**
+     * Replays every record of the segments numbered {@code fromSegment} and up, in order, then
+     * continues appending right after the last intact record. A torn record at the tail (a crash
+     * mid-append) is discarded.
+     */
+    void open(long fromSegment, Consumer<ByteBuffer> replay) throws IOException {
+        Files.createDirectories(dir);
+        List<Long> segments = segments();
+        long last = Math.max(fromSegment, 1);
+        int end = 0;
+        for (long number : segments) {
+            if (number < fromSegment) {
+                continue;
+            }
+            last = number;
+            end = replay(number, replay);
+        }
+        lock.lock();
+        try {
+            map(last);
+            if (end + HEADER > segmentSize) {
+                // Written with a larger segment size than configured now
+                map(last + 1);
+                end = 0;
+            }
+            if (mapped.getInt(end) != 0) {
+                // Zero whatever a torn append left behind so it can never be mistaken for a record
+                for (int i = end; i < segmentSize; i++) {
+                    mapped.put(i, (byte) 0);
+                }
+            }
+            mapped.position(end);
+            forcedTo = end;
+        } finally {
+            lock.unlock();
+        }
+        if (fsyncIntervalMs > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "embedded-wal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::force, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void append(byte[] payload) {
+        if (payload.length + HEADER > segmentSize) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes exceeds the log segment size");
+        }
+        lock.lock();
+        try {
+            if (mapped.remaining() < payload.length + HEADER) {
+                roll();
+            }
+            crc.reset();
+            crc.update(payload);
+            int start = mapped.position();
+            // Length last: until it lands the record reads as the end of the log; the crc catches the rest
+            mapped.position(start + HEADER);
+            mapped.put(payload);
+            mapped.putInt(start + 4, (int) crc.getValue());
+            mapped.putInt(start, payload.length);
+            if (fsyncIntervalMs == 0) {
+                mapped.force(start, payload.length + HEADER);
+                forcedTo = mapped.position();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not roll the write-ahead log", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts a new segment and returns its number. Every record appended before the call is in
+     * an earlier segment.
+     */
+    long roll() throws IOException {
+        lock.lock();
+        try {
+            mapped.force();
+            channel.close();
+            map(segment + 1);
+            forcedTo = 0;
+            return segment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void deleteBefore(long number) throws IOException {
+        for (long existing : segments()) {
+            if (existing < number) {
+                Files.deleteIfExists(file(existing));
+            }
+        }
+    }
+
+    void force() {
+        lock.lock();
+        try {
+            int position = mapped.position();
+            if (position > forcedTo) {
+                mapped.force(forcedTo, position - forcedTo);
+                forcedTo = position;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        lock.lock();
+        try {
+            if (channel != null) {
+                mapped.force();
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads framed records from {@code buffer} until its end, a zero length or a damaged record.
+     * Returns the position after the last intact record.
+     */
+    static int readRecords(ByteBuffer buffer, Consumer<ByteBuffer> consumer) {
+        CRC32C check = new CRC32C();
+        int position = buffer.position();
+        while (buffer.limit() - position >= HEADER) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.limit() - position - HEADER) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice(position + HEADER, length);
+            check.reset();
+            check.update(payload.duplicate());
+            if ((int) check.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            consumer.accept(payload);
+            position += HEADER + length;
+        }
+        return position;
+    }
+
+    private int replay(long number, Consumer<ByteBuffer> replay) throws IOException {
+        try (FileChannel file = FileChannel.open(file(number), StandardOpenOption.READ)) {
+            ByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+            int end = readRecords(buffer, replay);
+            if (end + HEADER <= buffer.limit() && buffer.getInt(end) != 0) {
+                logger.warn("Write-ahead log segment {} is damaged at byte {}; later records in it are skipped", number, end);
+            }
+            return end;
+        }
+    }
+
+    private void map(long number) throws IOException {
+        channel = FileChannel.open(file(number), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segment = number;
+    }
+
+    private List<Long> segments() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("wal-") && name.endsWith(".log"))
+                    .forEach(name -> numbers.add(Long.parseLong(name.substring(4, name.length() - 4))));
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+
+    private Path file(long number) {
+        return dir.resolve(String.format("wal-%016d.log", number));
+    }
+}
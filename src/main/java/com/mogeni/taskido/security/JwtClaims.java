@@ -0,0 +1,43 @@
+package com.mogeni.taskido.security;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Set;
+
+public class JwtClaims {
+
+    private final String username;
+    private final String userId;
+    private final Set<String> roles;
+    private final Date expiration;
+
+    public JwtClaims(String username, String userId, Collection<String> roles, Date expiration) {
+        this.username = username;
+        this.userId = userId;
+        this.roles = roles != null ? Set.copyOf(roles) : null;
+        this.expiration = expiration;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * Roles carried in the token, or {@code null} for tokens issued before roles were embedded.
+     */
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public boolean isExpired(long nowMs) {
+        return expiration != null && expiration.getTime() <= nowMs;
+    }
+}
@@ -1,67 +1,132 @@
 package com.mogeni.taskido.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtil {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    // Key and parser are immutable and thread-safe, so build them once
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache tokenCache;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        tokenCache = new VerifiedTokenCache(cacheMaxSize);
     }
+
     public String generateJwtToken(String username, String userId) {
+        return generateJwtToken(username, userId, null);
+    }
+
+    public String generateJwtToken(String username, String userId, Collection<String> roles) {
       return Jwts.builder()
                 .setSubject(username)
                 .claim("userId", userId)
+                .claim("roles", roles)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
 
     }
+
+    /**
+     * Verifies the token and returns its claims, or {@code null} if it is invalid or expired.
+     * Tokens that already passed verification are served from the cache until they expire.
+     */
+    public JwtClaims parseToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String digest = VerifiedTokenCache.digest(token);
+        JwtClaims cached = tokenCache.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            Claims body = jwtParser.parseClaimsJws(token).getBody();
+            JwtClaims claims = new JwtClaims(body.getSubject(), body.get("userId", String.class),
+                    roles(body), body.getExpiration());
+            tokenCache.put(digest, claims);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e ){
+            // Not System.err: PrintStream locks with synchronized around the write, pinning virtual threads
+            logger.debug("JWT token is invalid: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    // Null if the token has no roles claim; anything but a list of strings makes the token invalid
+    private static List<String> roles(Claims body) {
+        List<?> claim = body.get("roles", List.class);
+        if (claim == null) {
+            return null;
+        }
+        List<String> roles = new ArrayList<>(claim.size());
+        for (Object role : claim) {
+            if (!(role instanceof String name)) {
+                throw new MalformedJwtException("roles claim must be a list of strings");
+            }
+            roles.add(name);
+        }
+        return roles;
+    }
+
     public String getUsernameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        JwtClaims claims = parseToken(token);
+        return claims != null ? claims.getUsername() : null;
     }
 
     public String getUserIdFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("userId", String.class);
+        JwtClaims claims = parseToken(token);
+        return claims != null ? claims.getUserId() : null;
     }
 
     public boolean validateJwtToken(String authToken) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e ){
-            System.err.println("JWT token is invalid: " + e.getMessage());
-            // Log the exception if needed
+        return parseToken(authToken) != null;
+    }
 
-        }
-        return false;
+    public long getCacheHits() {
+        return tokenCache.getHits();
+    }
+
+    public long getCacheMisses() {
+        return tokenCache.getMisses();
+    }
+
+    public int getCacheSize() {
+        return tokenCache.size();
     }
-    
 }
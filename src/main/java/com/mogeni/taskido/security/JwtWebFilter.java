@@ -0,0 +1,58 @@
+package com.mogeni.taskido.security;
+
+import com.mogeni.taskido.repository.ReactiveUserRepository;
+import com.mogeni.taskido.service.UserDetailsServiceImpl.UserPrincipal;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Reactive equivalent of {@link JwtAuthenticationFilter}. Not a bean on purpose: WebFlux would
+ * otherwise add it to the global filter chain as well as the security chain.
+ */
+public class JwtWebFilter implements WebFilter {
+
+    private final JwtUtil jwtUtil;
+    private final ReactiveUserRepository userRepository;
+    private final boolean statelessPrincipal;
+
+    public JwtWebFilter(JwtUtil jwtUtil, ReactiveUserRepository userRepository, boolean statelessPrincipal) {
+        this.jwtUtil = jwtUtil;
+        this.userRepository = userRepository;
+        this.statelessPrincipal = statelessPrincipal;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String headerAuth = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (headerAuth == null || !headerAuth.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+        JwtClaims claims = jwtUtil.parseToken(headerAuth.substring(7));
+        if (claims == null) {
+            return chain.filter(exchange);
+        }
+        Mono<UserPrincipal> principal = statelessPrincipal && claims.getRoles() != null
+                ? Mono.just(UserPrincipal.create(claims))
+                : userRepository.findByUsername(claims.getUsername()).map(UserPrincipal::create);
+        return principal
+                .map(p -> (Authentication) new UsernamePasswordAuthenticationToken(p, null, p.getAuthorities()))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> {
+                    if (authentication.isEmpty()) {
+                        return chain.filter(exchange);
+                    }
+                    exchange.getAttributes().put("userId", claims.getUserId());
+                    return chain.filter(exchange)
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication.get()));
+                });
+    }
+}
@@ -0,0 +1,88 @@
+package com.mogeni.taskido.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified, keyed by
+ * the SHA-256 digest of the raw token so the tokens themselves are never held.
+ * Entries are dropped once the token's own expiration has passed.
+ */
+class VerifiedTokenCache {
+
+    private final Map<String, JwtClaims> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    JwtClaims get(String digest) {
+        JwtClaims claims = entries.get(digest);
+        if (claims == null) {
+            misses.increment();
+            return null;
+        }
+        if (claims.isExpired(System.currentTimeMillis())) {
+            entries.remove(digest, claims);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return claims;
+    }
+
+    void put(String digest, JwtClaims claims) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(digest, claims);
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(claims -> claims.isExpired(now));
+        if (entries.size() < maxSize) {
+            return;
+        }
+        // Still full of live tokens: drop an arbitrary slice rather than grow unbounded
+        Iterator<String> it = entries.keySet().iterator();
+        int toDrop = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        while (toDrop-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.mogeni.taskido.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: comma separated, double-quoted fields may contain commas, newlines and
+ * doubled quotes. Reads one record at a time so the input is never held in memory, and keeps at
+ * most {@code maxRecordLength} characters of a record.
+ */
+class CsvRecordReader {
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private int line = 1;
+    private int recordLine;
+    private int pending = -2;
+
+    CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    // Line the last returned record started on
+    int getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Next record, or null at end of input. Blank lines are skipped. Throws
+     * {@link IllegalArgumentException} if the input ends inside a quoted field, or after skipping
+     * a record longer than the limit, so reading can go on with the next one.
+     */
+    List<String> next() throws IOException {
+        while (true) {
+            recordLine = line;
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\n') {
+                continue;
+            }
+            if (c == '\r') {
+                continue;
+            }
+            unread(c);
+            return readRecord();
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        int fieldStart = 0;
+        while (true) {
+            int c = read();
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        length = append(field, '"', length);
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    length = append(field, (char) c, length);
+                }
+            } else if (c == '"' && length == fieldStart) {
+                quoted = true;
+            } else if (c == ',') {
+                length++;
+                if (length <= maxRecordLength) {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+                fieldStart = length;
+            } else if (c == '\n' || c == -1) {
+                if (length > maxRecordLength) {
+                    throw new IllegalArgumentException("Record longer than " + maxRecordLength + " characters");
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                length = append(field, (char) c, length);
+            }
+        }
+    }
+
+    // Past the limit the rest of the record is still parsed, but no longer kept
+    private int append(StringBuilder field, char c, int length) {
+        if (length < maxRecordLength) {
+            field.append(c);
+        }
+        return length + 1;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pending != -2) {
+            c = pending;
+            pending = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pending = c;
+        if (c == '\n') {
+            line--;
+        }
+    }
+}
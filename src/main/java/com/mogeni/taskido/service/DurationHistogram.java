@@ -0,0 +1,68 @@
+package com.mogeni.taskido.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Log-scale histogram of durations, stored as bin index -> count so it can be summed with $inc.
+ * Bin 0 holds everything under a second; bin i > 0 holds [1s * r^(i-1), 1s * r^i) with
+ * r = sqrt(2), which bounds the relative error of an estimated quantile to about 20%.
+ */
+final class DurationHistogram {
+
+    private static final double RATIO = Math.sqrt(2);
+    private static final double LOG_RATIO = Math.log(RATIO);
+    private static final int MAX_BIN = 80;
+
+    private DurationHistogram() {
+    }
+
+    static int bin(long millis) {
+        if (millis < 1000) {
+            return 0;
+        }
+        int bin = (int) Math.floor(Math.log(millis / 1000.0) / LOG_RATIO) + 1;
+        return Math.min(bin, MAX_BIN);
+    }
+
+    static double lowerBound(int bin) {
+        return bin == 0 ? 0 : 1000 * Math.pow(RATIO, bin - 1);
+    }
+
+    static double upperBound(int bin) {
+        return 1000 * Math.pow(RATIO, bin);
+    }
+
+    /**
+     * Estimated median in milliseconds, interpolating within the bin that holds it, or null for
+     * an empty histogram.
+     */
+    static Long median(Map<Integer, Long> counts) {
+        long total = 0;
+        for (long count : counts.values()) {
+            total += count;
+        }
+        if (total == 0) {
+            return null;
+        }
+        double target = total / 2.0;
+        long seen = 0;
+        for (Map.Entry<Integer, Long> entry : new TreeMap<>(counts).entrySet()) {
+            long count = entry.getValue();
+            if (count <= 0) {
+                continue;
+            }
+            if (seen + count >= target) {
+                int bin = entry.getKey();
+                double fraction = (target - seen) / count;
+                double lower = lowerBound(bin);
+                double upper = upperBound(bin);
+                // Geometric within log-scale bins, linear within the first
+                double estimate = bin == 0 ? upper * fraction : lower * Math.pow(upper / lower, fraction);
+                return Math.round(estimate);
+            }
+            seen += count;
+        }
+        return Math.round(upperBound(MAX_BIN));
+    }
+}
@@ -0,0 +1,38 @@
+package com.mogeni.taskido.service;
+
+import com.mogeni.taskido.dto.TaskSummary;
+import com.mogeni.taskido.repository.embedded.EmbeddedStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link TaskCounters} for the embedded store, which counts every user's tasks as part of each
+ * write. Reported deltas are ignored and there is never any drift to reconcile.
+ */
+@Component
+@Profile("embedded")
+public class EmbeddedTaskCounters implements TaskCounters {
+
+    @Autowired
+    private EmbeddedStore store;
+
+    @Override
+    public void add(String userId, long total, long completed) {
+    }
+
+    @Override
+    public TaskSummary get(String userId) {
+        return store.summary(userId);
+    }
+
+    @Override
+    public TaskSummary reconcile(String userId) {
+        return store.summary(userId);
+    }
+
+    @Override
+    public long reconcileAll() {
+        return 0;
+    }
+}
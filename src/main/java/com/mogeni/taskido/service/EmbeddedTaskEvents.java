@@ -0,0 +1,27 @@
+package com.mogeni.taskido.service;
+
+import com.mogeni.taskido.repository.embedded.EmbeddedStore;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds the embedded store's task changes to {@link TaskEventHub}, in place of the MongoDB
+ * change stream.
+ */
+@Component
+@Profile("embedded")
+public class EmbeddedTaskEvents {
+
+    @Autowired
+    private EmbeddedStore store;
+
+    @Autowired
+    private TaskEventHub taskEventHub;
+
+    @PostConstruct
+    void init() {
+        store.onTaskEvent(taskEventHub::publish);
+    }
+}
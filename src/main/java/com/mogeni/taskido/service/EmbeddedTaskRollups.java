@@ -0,0 +1,31 @@
+package com.mogeni.taskido.service;
+
+import com.mogeni.taskido.repository.embedded.EmbeddedStore;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * {@link TaskRollups} kept by the embedded store.
+ */
+@Component
+@Profile("embedded")
+public class EmbeddedTaskRollups extends TaskRollups {
+
+    @Autowired
+    private EmbeddedStore store;
+
+    @Override
+    protected Iterable<Document> read(String userId, String period, LocalDate first, LocalDate to) {
+        return store.rollups(userId, period, first, to);
+    }
+
+    @Override
+    protected void write(String userId, Map<String, Document> increments, Map<String, String[]> keys) {
+        store.incrementRollups(userId, increments, keys);
+    }
+}
@@ -0,0 +1,37 @@
+package com.mogeni.taskido.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link TaskVersions} kept in memory for the embedded store. Versions are not persisted; they
+ * start at the node's start time in microseconds and are bumped to at least the current time, so
+ * they keep growing across restarts without being logged. Counting in microseconds keeps a burst
+ * of writes from carrying a version past the next start, where an old ETag could match again.
+ */
+@Component
+@Profile("embedded")
+public class EmbeddedTaskVersions implements TaskVersions {
+
+    private final long startedAt = nowMicros();
+    private final ConcurrentHashMap<String, Long> versions = new ConcurrentHashMap<>();
+
+    @Override
+    public long current(String userId) {
+        return versions.getOrDefault(userId, startedAt);
+    }
+
+    @Override
+    public long bump(String userId) {
+        return versions.merge(userId, Math.max(startedAt + 1, nowMicros()),
+                (version, ignored) -> Math.max(version + 1, nowMicros()));
+    }
+
+    private static long nowMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mogeni.taskido.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process channel for single-node deployments, where there is nobody to notify. Several
+ * instances can be {@link #connect connected} to stand in for a cluster in tests.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.cache.channel", havingValue = "local", matchIfMissing = true)
+public class LocalTaskInvalidationChannel implements TaskInvalidationChannel {
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final List<LocalTaskInvalidationChannel> peers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String userId) {
+        for (LocalTaskInvalidationChannel peer : peers) {
+            peer.deliver(userId);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    public void connect(LocalTaskInvalidationChannel peer) {
+        if (peer != this && !peers.contains(peer)) {
+            peers.add(peer);
+            peer.connect(this);
+        }
+    }
+
+    private void deliver(String userId) {
+        for (Consumer<String> listener : listeners) {
+            listener.accept(userId);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.mogeni.taskido.service;
+
+import com.mogeni.taskido.dto.TaskSummary;
+import com.mogeni.taskido.model.Task;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * {@link TaskCounters} kept in one {_id: userId, total, completed} document of
+ * {@code task_summaries}, adjusted with $inc, so reading a summary is a single point lookup. A
+ * document that was never initialized from the tasks collection (an existing user's first read)
+ * is rebuilt by aggregation on read.
+ */
+@Component
+@Profile("!embedded")
+public class MongoTaskCounters implements TaskCounters {
+
+    static final String COLLECTION = "task_summaries";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void add(String userId, long total, long completed) {
+        if (total == 0 && completed == 0) {
+            return;
+        }
+        collection().updateOne(Filters.eq("_id", userId),
+                Updates.combine(Updates.inc("total", total), Updates.inc("completed", completed)),
+                new UpdateOptions().upsert(true));
+    }
+
+    @Override
+    public TaskSummary get(String userId) {
+        Document counters = collection().find(Filters.eq("_id", userId)).first();
+        if (counters == null || !Boolean.TRUE.equals(counters.getBoolean("initialized"))) {
+            return reconcile(userId);
+        }
+        return new TaskSummary(number(counters, "total"), number(counters, "completed"));
+    }
+
+    @Override
+    public TaskSummary reconcile(String userId) {
+        Document counted = tasks().aggregate(List.of(
+                new Document("$match", new Document("userId", userId)),
+                countByUser())).first();
+        long total = counted != null ? number(counted, "total") : 0;
+        long completed = counted != null ? number(counted, "completed") : 0;
+        collection().updateOne(Filters.eq("_id", userId),
+                Updates.combine(
+                        Updates.set("total", total),
+                        Updates.set("completed", completed),
+                        Updates.set("initialized", true),
+                        Updates.set("reconciledAt", new Date())),
+                new UpdateOptions().upsert(true));
+        return new TaskSummary(total, completed);
+    }
+
+    // One aggregation merged into the counters collection, then users left without tasks are zeroed
+    @Override
+    public long reconcileAll() {
+        Date started = new Date();
+        tasks().aggregate(List.of(
+                countByUser(),
+                new Document("$set", new Document("initialized", true).append("reconciledAt", started)),
+                new Document("$merge", new Document("into", COLLECTION)
+                        .append("on", "_id")
+                        .append("whenMatched", "merge")
+                        .append("whenNotMatched", "insert"))))
+                .allowDiskUse(true)
+                .toCollection();
+        return collection().updateMany(
+                Filters.and(Filters.eq("initialized", true), Filters.lt("reconciledAt", started)),
+                Updates.combine(
+                        Updates.set("total", 0L),
+                        Updates.set("completed", 0L),
+                        Updates.set("reconciledAt", started)))
+                .getModifiedCount();
+    }
+
+    private static Document countByUser() {
+        return new Document("$group", new Document("_id", "$userId")
+                .append("total", new Document("$sum", 1))
+                .append("completed", new Document("$sum",
+                        new Document("$cond", List.of(new Document("$eq", List.of("$completed", true)), 1, 0)))));
+    }
+
+    private static long number(Document document, String field) {
+        Number value = document.get(field, Number.class);
+        return value != null ? value.longValue() : 0L;
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+
+    private MongoCollection<Document> tasks() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Task.class));
+    }
+}
@@ -0,0 +1,126 @@
+package com.mogeni.taskido.service;
+
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.model.TaskTombstone;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feeds task changes to {@link TaskEventHub} from one change stream per node on the tasks and
+ * task_tombstones collections. Started by the hub when its first stream opens. Change streams
+ * need a replica set or sharded cluster.
+ */
+@Component
+@Profile("!embedded")
+public class MongoTaskEvents {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoTaskEvents.class);
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TaskEventHub taskEventHub;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean running = true;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        Thread watcher = new Thread(this::watch, "task-change-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        MongoChangeStreamCursor<?> current = cursor;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private void watch() {
+        String tasks = mongoTemplate.getCollectionName(Task.class);
+        String tombstones = mongoTemplate.getCollectionName(TaskTombstone.class);
+        BsonDocument resumeToken = null;
+        long backoffMs = 1000;
+        while (running) {
+            try {
+                var stream = mongoTemplate.getDb().watch(List.of(Aggregates.match(Filters.or(
+                                Filters.and(Filters.eq("ns.coll", tasks),
+                                        Filters.in("operationType", "insert", "update", "replace")),
+                                Filters.and(Filters.eq("ns.coll", tombstones),
+                                        Filters.eq("operationType", "insert"))))))
+                        .fullDocument(FullDocument.UPDATE_LOOKUP);
+                if (resumeToken != null) {
+                    stream = stream.resumeAfter(resumeToken);
+                }
+                try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened = stream.cursor()) {
+                    cursor = opened;
+                    backoffMs = 1000;
+                    while (running) {
+                        ChangeStreamDocument<Document> change = opened.next();
+                        resumeToken = change.getResumeToken();
+                        dispatch(change, tombstones);
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                if (e instanceof MongoCommandException command && command.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    // Clients catch up on missed changes through the delta-sync endpoint
+                    resumeToken = null;
+                }
+                logger.warn("Task change watcher failed, retrying in {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, 30000);
+            }
+        }
+    }
+
+    private void dispatch(ChangeStreamDocument<Document> change, String tombstones) {
+        Document document = change.getFullDocument();
+        // Null for an update whose task was deleted before the lookup; its tombstone follows
+        if (document == null) {
+            return;
+        }
+        String userId = document.getString("userId");
+        if (userId == null || !taskEventHub.hasSubscribers(userId)) {
+            return;
+        }
+        if (tombstones.equals(change.getNamespace().getCollectionName())) {
+            taskEventHub.publish(userId, "deleted", Map.of("id", document.getObjectId("_id").toHexString()));
+        } else {
+            String event = "insert".equals(change.getOperationTypeString()) ? "created" : "updated";
+            taskEventHub.publish(userId, event, mongoTemplate.getConverter().read(Task.class, document));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.mogeni.taskido.service;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Multi-node channel: each notice is a small document in {@code task_invalidations}, and every node
+ * tails that collection with a change stream, skipping its own notices. Needs a replica set or
+ * sharded cluster. Notices expire after ten minutes through a TTL index.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.cache.channel", havingValue = "mongo")
+public class MongoTaskInvalidationChannel implements TaskInvalidationChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoTaskInvalidationChannel.class);
+
+    static final String COLLECTION = "task_invalidations";
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final String nodeId = new ObjectId().toHexString();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private Thread watcher;
+
+    @PostConstruct
+    void start() {
+        try {
+            collection().createIndex(Indexes.ascending("at"),
+                    new IndexOptions().name("at_ttl_idx").expireAfter(10L, TimeUnit.MINUTES));
+        } catch (RuntimeException e) {
+            logger.warn("Could not ensure task invalidation TTL index: {}", e.getMessage());
+        }
+        watcher = new Thread(this::watch, "task-invalidation-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        MongoChangeStreamCursor<?> current = cursor;
+        if (current != null) {
+            current.close();
+        }
+        watcher.interrupt();
+    }
+
+    @Override
+    public void publish(String userId) {
+        try {
+            collection().insertOne(new Document("userId", userId).append("node", nodeId).append("at", new Date()));
+        } catch (RuntimeException e) {
+            // The write itself succeeded; other nodes catch up when their entries expire
+            logger.warn("Could not publish task invalidation for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    private void watch() {
+        BsonDocument resumeToken = null;
+        long backoffMs = 1000;
+        while (running) {
+            try {
+                var stream = collection().watch(List.of(Aggregates.match(Filters.and(
+                        Filters.eq("operationType", "insert"),
+                        Filters.ne("fullDocument.node", nodeId)))));
+                if (resumeToken != null) {
+                    stream = stream.resumeAfter(resumeToken);
+                }
+                try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened = stream.cursor()) {
+                    cursor = opened;
+                    backoffMs = 1000;
+                    while (running) {
+                        ChangeStreamDocument<Document> change = opened.next();
+                        resumeToken = change.getResumeToken();
+                        String userId = change.getFullDocument() != null ? change.getFullDocument().getString("userId") : null;
+                        if (userId != null) {
+                            for (Consumer<String> listener : listeners) {
+                                listener.accept(userId);
+                            }
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                if (e instanceof MongoCommandException command && command.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    // Missed notices are covered by the cache TTL
+                    resumeToken = null;
+                }
+                logger.warn("Task invalidation watcher failed, retrying in {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, 30000);
+            }
+        }
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+}
@@ -0,0 +1,80 @@
+package com.mogeni.taskido.service;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link TaskRollups} in {@code task_rollups}: a recorder's increments are one unordered bulk
+ * write of upserts, and stats read at most a few hundred small documents through the
+ * {userId, period, start} index.
+ */
+@Component
+@Profile("!embedded")
+public class MongoTaskRollups extends TaskRollups {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoTaskRollups.class);
+
+    static final String COLLECTION = "task_rollups";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    void ensureIndex() {
+        try {
+            collection().createIndex(
+                    Indexes.ascending("userId", "period", "start"),
+                    new IndexOptions().name("user_period_start_idx"));
+        } catch (RuntimeException e) {
+            logger.warn("Could not ensure task rollup index: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    protected Iterable<Document> read(String userId, String period, LocalDate first, LocalDate to) {
+        return collection()
+                .find(Filters.and(
+                        Filters.eq("userId", userId),
+                        Filters.eq("period", period),
+                        Filters.gte("start", first.toString()),
+                        Filters.lte("start", to.toString())))
+                .sort(Sorts.ascending("start"));
+    }
+
+    @Override
+    protected void write(String userId, Map<String, Document> increments, Map<String, String[]> keys) {
+        List<WriteModel<Document>> writes = new ArrayList<>(increments.size());
+        increments.forEach((id, inc) -> {
+            String[] key = keys.get(id);
+            writes.add(new UpdateOneModel<>(Filters.eq("_id", id),
+                    new Document("$inc", inc).append("$setOnInsert",
+                            new Document("userId", userId).append("period", key[0]).append("start", key[1])),
+                    new UpdateOptions().upsert(true)));
+        });
+        collection().bulkWrite(writes, new BulkWriteOptions().ordered(false));
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+}
@@ -0,0 +1,125 @@
+package com.mogeni.taskido.service;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Updates;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link TaskVersions} stored as one {_id: userId, version} document per user in
+ * {@code task_versions} and cached per node, so answering a conditional GET normally costs no
+ * database round trip at all.
+ */
+@Component
+@Profile("!embedded")
+public class MongoTaskVersions implements TaskVersions {
+
+    static final String COLLECTION = "task_versions";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TaskInvalidationChannel invalidationChannel;
+
+    @Value("${tasks.versions.max-users:100000}")
+    private int maxUsers;
+
+    @Value("${tasks.cache.ttl:60000}")
+    private long ttlMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Access-ordered so the eldest entry is the coldest user; only touched under lock
+    private final LinkedHashMap<String, Cached> versions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    // Bumped on every remote eviction; a load that spans one is not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        invalidationChannel.subscribe(this::evict);
+    }
+
+    @Override
+    public long current(String userId) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Cached cached = versions.get(userId);
+            if (cached != null && now - cached.loadedAt <= ttlMs) {
+                return cached.version;
+            }
+        } finally {
+            lock.unlock();
+        }
+        long ticket = evictions.get();
+        Document stored = mongoTemplate.getCollection(COLLECTION).find(Filters.eq("_id", userId)).first();
+        long version = stored != null ? stored.get("version", Number.class).longValue() : 0L;
+        if (evictions.get() == ticket) {
+            remember(userId, version, now);
+        }
+        return version;
+    }
+
+    @Override
+    public long bump(String userId) {
+        Document updated = mongoTemplate.getCollection(COLLECTION).findOneAndUpdate(
+                Filters.eq("_id", userId),
+                Updates.inc("version", 1L),
+                new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+        long version = updated.get("version", Number.class).longValue();
+        remember(userId, version, System.currentTimeMillis());
+        return version;
+    }
+
+    private void remember(String userId, long version, long loadedAt) {
+        lock.lock();
+        try {
+            Cached cached = versions.get(userId);
+            // Versions only grow, so an older concurrent read never overwrites a newer bump
+            if (cached == null || cached.version <= version) {
+                versions.put(userId, new Cached(version, loadedAt));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict(String userId) {
+        evictions.incrementAndGet();
+        lock.lock();
+        try {
+            versions.remove(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class Cached {
+        private final long version;
+        private final long loadedAt;
+
+        Cached(long version, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
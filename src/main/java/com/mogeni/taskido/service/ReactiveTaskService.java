@@ -0,0 +1,134 @@
+package com.mogeni.taskido.service;
+
+import com.mogeni.taskido.dto.TaskFields;
+import com.mogeni.taskido.dto.TaskPage;
+import com.mogeni.taskido.dto.TaskPatch;
+import com.mogeni.taskido.exception.BadRequestException;
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.repository.ReactiveTaskRepository;
+import com.mogeni.taskido.repository.TaskCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counterpart of {@link TaskService} for the "reactive" profile. Same queries and semantics,
+ * returning {@link Mono}/{@link Flux} instead of blocking a request thread. Reads and the writes
+ * themselves go through the reactive driver, but the bookkeeping after each write reuses
+ * TaskService and the blocking MongoDB client on the bounded-elastic pool, so this mode is not
+ * fully non-blocking.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTaskService {
+
+    @Autowired
+    private ReactiveTaskRepository taskRepository;
+
+    // Its post-write bookkeeping (tombstones, counters, versions, caches) is blocking
+    @Autowired
+    private TaskService taskService;
+
+    @Value("${tasks.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${tasks.page.max-size:200}")
+    private int maxPageSize;
+
+    public Flux<Task> getAllTasksByUserId(String userId) {
+        return taskRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    public Mono<TaskPage> getTaskPageForUser(String userId, Boolean completed, String cursor, Integer size, Set<String> fields) {
+        int limit = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        TaskCursor after = cursor != null && !cursor.isEmpty() ? TaskCursor.decode(cursor) : null;
+        // Fetch one extra row to learn whether another page exists
+        return taskRepository.findPageByUserId(userId, completed, after, limit + 1, fields)
+                .collectList()
+                .map(tasks -> {
+                    String next = null;
+                    if (tasks.size() > limit) {
+                        tasks = tasks.subList(0, limit);
+                        Task last = tasks.get(limit - 1);
+                        next = new TaskCursor(last.getCreatedAt(), last.getId()).encode();
+                    }
+                    return new TaskPage(fields != null ? TaskFields.project(tasks, fields) : tasks, next);
+                });
+    }
+
+    public Flux<Task> getTasksForUser(String userId, Boolean completed, Set<String> fields) {
+        return taskRepository.findAllByUserId(userId, completed, fields);
+    }
+
+    public Mono<Task> getTaskByIdAndUserId(String id, String userId) {
+        return taskRepository.findByIdAndUserId(id, userId);
+    }
+
+    public Mono<Task> createTask(Task task) {
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(LocalDateTime.now());
+        return taskRepository.save(task)
+                .flatMap(saved -> afterWrite(() -> taskService.created(saved), saved));
+    }
+
+    public Mono<Task> updateTaskForUser(String id, Task taskDetails, String userId) {
+        return taskRepository.updateByIdAndUserId(id, userId,
+                        taskDetails.getName(), taskDetails.getDescription(), taskDetails.isCompleted())
+                .flatMap(updated -> afterWrite(() -> taskService.updated(userId, updated, true), updated.getAfter()));
+    }
+
+    public Mono<Task> patchTaskForUser(String id, TaskPatch patch, String userId) {
+        try {
+            patch.validate();
+        } catch (BadRequestException e) {
+            return Mono.error(e);
+        }
+        Map<String, Object> changes = patch.getChanges();
+        if (changes.isEmpty()) {
+            return taskRepository.findByIdAndUserId(id, userId);
+        }
+        return taskRepository.patchByIdAndUserId(id, userId, changes)
+                .flatMap(patched -> afterWrite(() -> taskService.updated(userId, patched, changes.containsKey("name")), patched.getAfter()))
+                .switchIfEmpty(Mono.defer(() -> taskRepository.findByIdAndUserId(id, userId)));
+    }
+
+    public Mono<Boolean> deleteTaskForUser(String id, String userId) {
+        return taskRepository.removeByIdAndUserId(id, userId)
+                .flatMap(deleted -> afterWrite(() -> taskService.deleted(userId, deleted), true))
+                .defaultIfEmpty(false);
+    }
+
+    public Flux<Task> getTasksByCompletionStatusForUser(String userId, boolean completed) {
+        return taskRepository.findByUserIdAndCompletedOrderByCreatedAtDesc(userId, completed);
+    }
+
+    public Flux<Task> searchTasksForUser(String userId, String text, int page, Integer size, Set<String> fields) {
+        List<String> terms = TaskService.tokenize(text);
+        if (terms.isEmpty()) {
+            return Flux.empty();
+        }
+        int limit = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        return taskRepository.searchByUserId(userId, terms, Math.max(page, 0) * limit, limit, fields);
+    }
+
+    public Mono<Task> toggleTaskCompletionForUser(String id, String userId) {
+        return taskRepository.toggleCompletedByIdAndUserId(id, userId)
+                .flatMap(toggled -> afterWrite(() -> taskService.updated(userId, toggled, false), toggled.getAfter()));
+    }
+
+    // Counters, rollups, tombstones, the list version and caches, as after the same blocking write
+    private static <T> Mono<T> afterWrite(Runnable bookkeeping, T result) {
+        return Mono.fromRunnable(bookkeeping)
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenReturn(result);
+    }
+}
@@ -0,0 +1,26 @@
+package com.mogeni.taskido.service;
+
+import com.mogeni.taskido.dto.TaskSummary;
+
+/**
+ * Per-user total and completed task counts. {@link TaskService} reports the delta of every
+ * write through {@link #add}, and {@link TaskSummaryReconciler} periodically recounts all users
+ * to correct any drift.
+ */
+public interface TaskCounters {
+
+    void add(String userId, long total, long completed);
+
+    TaskSummary get(String userId);
+
+    /**
+     * Recounts one user's tasks and stores the result.
+     */
+    TaskSummary reconcile(String userId);
+
+    /**
+     * Recounts every user's tasks and zeroes the counters of users that no longer have any
+     * task. Returns the number of users whose counters were zeroed.
+     */
+    long reconcileAll();
+}
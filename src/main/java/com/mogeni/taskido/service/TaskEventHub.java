@@ -0,0 +1,240 @@
+package com.mogeni.taskido.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes task changes to server-sent event subscribers. The storage's event source
+ * ({@link MongoTaskEvents} or {@link EmbeddedTaskEvents}) calls {@link #publish} for each change,
+ * which fans it out to the subscribers of the task's user. Every connection has a bounded buffer
+ * drained by a sender; a connection whose buffer overflows is closed rather than allowed to grow,
+ * and the client resumes through GET /api/tasks/changes.
+ */
+@Component
+public class TaskEventHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventHub.class);
+
+    @Autowired
+    private ObjectProvider<MongoTaskEvents> changeStream;
+
+    @Value("${tasks.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${tasks.stream.max-per-user:5}")
+    private int maxPerUser;
+
+    @Value("${tasks.stream.timeout:1800000}")
+    private long timeoutMs;
+
+    @Value("${tasks.stream.heartbeat:15000}")
+    private long heartbeatMs;
+
+    @Value("${tasks.stream.sender-threads:32}")
+    private int senderThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    // Sends block on the client socket, so they never run on the publishing thread
+    private Executor senders;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(daemon("task-stream-heartbeat"));
+
+    @PostConstruct
+    void init() {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("task-stream-sender-");
+            executor.setVirtualThreads(true);
+            senders = executor;
+        } else {
+            // Beyond this many clients stalled on a write, the other subscribers' sends queue up
+            senders = Executors.newFixedThreadPool(senderThreads, daemon("task-stream-sender"));
+        }
+    }
+
+    /**
+     * Opens an event stream for the user, or returns null if the user already has
+     * {@code tasks.stream.max-per-user} open streams.
+     */
+    public SseEmitter subscribe(String userId) {
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMs));
+        AtomicBoolean admitted = new AtomicBoolean();
+        subscribers.compute(userId, (id, own) -> {
+            if (own == null) {
+                own = ConcurrentHashMap.newKeySet();
+            }
+            if (own.size() < maxPerUser) {
+                own.add(subscriber);
+                admitted.set(true);
+            }
+            return own.isEmpty() ? null : own;
+        });
+        if (!admitted.get()) {
+            return null;
+        }
+        subscriberCount.incrementAndGet();
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(e -> subscriber.close());
+        start();
+        // Flushes the response headers so clients see the stream open right away
+        subscriber.offer(SseEmitter.event().comment("connected").build());
+        return subscriber.emitter;
+    }
+
+    /**
+     * Delivers an event to every open stream of the user.
+     */
+    public void publish(String userId, String event, Object data) {
+        Set<Subscriber> own = subscribers.get(userId);
+        if (own == null || own.isEmpty()) {
+            return;
+        }
+        // Built once and shared: each sender only writes it out
+        Set<ResponseBodyEmitter.DataWithMediaType> message = SseEmitter.event()
+                .name(event)
+                .data(data, MediaType.APPLICATION_JSON)
+                .build();
+        for (Subscriber subscriber : own) {
+            subscriber.offer(message);
+        }
+    }
+
+    boolean hasSubscribers(String userId) {
+        return subscribers.containsKey(userId);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public int getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        changeStream.ifAvailable(MongoTaskEvents::start);
+        heartbeats.scheduleAtFixedRate(() -> {
+            Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+            subscribers.values().forEach(own -> own.forEach(subscriber -> subscriber.offer(ping)));
+        }, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeats.shutdownNow();
+        if (senders instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        } else if (senders instanceof SimpleAsyncTaskExecutor executor) {
+            executor.close();
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private class Subscriber {
+        private final String userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(String userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> message) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(message)) {
+                dropped.incrementAndGet();
+                logger.debug("Dropping slow task stream subscriber of user {}", userId);
+                close();
+                // complete() waits on the emitter's monitor behind the send still writing to this
+                // slow client, so it must not run on the publishing thread
+                senders.execute(emitter::complete);
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> message = buffer.poll();
+                if (message == null) {
+                    draining.set(false);
+                    // Re-check: an offer may have landed between the poll and the reset
+                    if (buffer.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (closed.get()) {
+                    return;
+                }
+                try {
+                    emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            buffer.clear();
+            subscriberCount.decrementAndGet();
+            subscribers.computeIfPresent(userId, (id, own) -> {
+                own.remove(this);
+                return own.isEmpty() ? null : own;
+            });
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.mogeni.taskido.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mogeni.taskido.dto.TaskImportResult;
+import com.mogeni.taskido.exception.BadRequestException;
+import com.mogeni.taskido.model.Task;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks from an NDJSON or CSV stream. The input is read one record at a time and written
+ * in batches, so memory use depends on the batch size rather than on the size of the upload.
+ */
+@Service
+public class TaskImportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${tasks.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${tasks.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Value("${tasks.import.max-record-length:65536}")
+    private int maxRecordLength;
+
+    public TaskImportResult importTasks(String userId, InputStream input, Format format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Batch batch = new Batch(userId);
+        if (format == Format.CSV) {
+            readCsv(reader, batch);
+        } else {
+            readNdjson(reader, batch);
+        }
+        batch.flush();
+        return batch.result;
+    }
+
+    private void readNdjson(BufferedReader reader, Batch batch) throws IOException {
+        StringBuilder buffer = new StringBuilder();
+        int length;
+        int lineNumber = 0;
+        while ((length = readLine(reader, buffer)) != -1) {
+            lineNumber++;
+            if (length > maxRecordLength) {
+                batch.reject(lineNumber, "Line longer than " + maxRecordLength + " characters");
+                continue;
+            }
+            String line = buffer.toString();
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (!node.isObject()) {
+                    batch.reject(lineNumber, "Expected a JSON object");
+                    continue;
+                }
+                batch.add(lineNumber, toTask(batch.userId, text(node, "name"), text(node, "description"),
+                        text(node, "completed"), text(node, "createdAt")));
+            } catch (JsonProcessingException e) {
+                batch.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                batch.reject(lineNumber, e.getMessage());
+            }
+        }
+    }
+
+    // Length of the next line, or -1 at end of input; only the first maxRecordLength characters are kept
+    private int readLine(BufferedReader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int length = 0;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (length < maxRecordLength) {
+                line.append((char) c);
+            }
+            length++;
+        }
+        if (c == -1 && length == 0) {
+            return -1;
+        }
+        if (length <= maxRecordLength && length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+            length--;
+        }
+        return length;
+    }
+
+    private void readCsv(BufferedReader reader, Batch batch) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader, maxRecordLength);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name")) {
+            throw new BadRequestException("CSV header must contain a name column");
+        }
+        while (true) {
+            List<String> record;
+            try {
+                record = csv.next();
+            } catch (IllegalArgumentException e) {
+                // The reader has skipped the bad record, or reached the end of input
+                batch.reject(csv.getRecordLine(), e.getMessage());
+                continue;
+            }
+            if (record == null) {
+                return;
+            }
+            try {
+                batch.add(csv.getRecordLine(), toTask(batch.userId, column(record, columns, "name"),
+                        column(record, columns, "description"), column(record, columns, "completed"),
+                        column(record, columns, "createdat")));
+            } catch (IllegalArgumentException e) {
+                batch.reject(csv.getRecordLine(), e.getMessage());
+            }
+        }
+    }
+
+    private Task toTask(String userId, String name, String description, String completed, String createdAt) {
+        Task task = new Task(name, description != null && description.isEmpty() ? null : description, userId);
+        task.setId(new ObjectId().toHexString());
+        if (completed != null && !completed.isEmpty()) {
+            task.setCompleted(parseBoolean(completed));
+        }
+        if (createdAt != null && !createdAt.isEmpty()) {
+            try {
+                task.setCreatedAt(LocalDateTime.parse(createdAt));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("createdAt must be an ISO-8601 local date-time");
+            }
+        }
+        return task;
+    }
+
+    private String validate(Task task) {
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static boolean parseBoolean(String value) {
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes" -> {
+                return true;
+            }
+            case "false", "0", "no" -> {
+                return false;
+            }
+            default -> throw new IllegalArgumentException("completed must be true or false");
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index != null && index < record.size() ? record.get(index) : null;
+    }
+
+    /**
+     * Pending tasks plus the running result. Holds at most one batch of tasks at a time.
+     */
+    private class Batch {
+        private final String userId;
+        private final TaskImportResult result = new TaskImportResult();
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<Integer> lines = new ArrayList<>();
+
+        Batch(String userId) {
+            this.userId = userId;
+        }
+
+        void add(int line, Task task) {
+            String error = validate(task);
+            if (error != null) {
+                reject(line, error);
+                return;
+            }
+            tasks.add(task);
+            lines.add(line);
+            if (tasks.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(int line, String error) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < maxErrors) {
+                result.getErrors().add(new TaskImportResult.LineError(line, error));
+            }
+        }
+
+        void flush() {
+            if (tasks.isEmpty()) {
+                return;
+            }
+            Map<Integer, String> errors = taskService.insertImportedTasks(userId, tasks);
+            result.setImported(result.getImported() + tasks.size() - errors.size());
+            errors.forEach((index, error) -> reject(lines.get(index), error));
+            tasks.clear();
+            lines.clear();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.mogeni.taskido.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries "this user's tasks changed" notices between API nodes so per-node caches of task
+ * data can be dropped. Listeners only receive notices published by other nodes.
+ */
+public interface TaskInvalidationChannel {
+
+    void publish(String userId);
+
+    void subscribe(Consumer<String> listener);
+}
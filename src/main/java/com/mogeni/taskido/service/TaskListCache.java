@@ -0,0 +1,203 @@
+package com.mogeni.taskido.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Per-user cache of task list reads. Bounded by the total number of cached tasks rather than by
+ * entries, evicting least recently used users first. {@link TaskService} invalidates a user on
+ * every write; the invalidation is also published on the {@link TaskInvalidationChannel} so other
+ * nodes drop their copy. Entries additionally expire after {@code tasks.cache.ttl} in case a remote
+ * invalidation is lost.
+ */
+@Component
+public class TaskListCache {
+
+    @Autowired
+    private TaskInvalidationChannel invalidationChannel;
+
+    @Value("${tasks.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tasks.cache.max-tasks:100000}")
+    private long maxWeight;
+
+    @Value("${tasks.cache.ttl:60000}")
+    private long ttlMs;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Access-ordered so the eldest entry is the coldest user; only touched under lock
+    private final LinkedHashMap<String, UserEntry> users = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    @PostConstruct
+    void init() {
+        // Other nodes' invalidations only evict here; they are not published again
+        invalidationChannel.subscribe(this::evict);
+    }
+
+    /**
+     * Returns the cached value for {@code key} of the user, loading it on a miss. {@code weigher}
+     * gives the number of tasks in a value; values are shared between callers and must not be
+     * modified.
+     */
+    public <T> T get(String userId, String key, Supplier<T> loader, ToIntFunction<T> weigher) {
+        if (!enabled) {
+            return loader.get();
+        }
+        long now = System.currentTimeMillis();
+        UserEntry entry;
+        lock.lock();
+        try {
+            entry = users.get(userId);
+            if (entry != null && now - entry.loadedAt > ttlMs) {
+                remove(userId);
+                entry = null;
+            }
+            if (entry != null) {
+                Object cached = entry.values.get(key);
+                if (cached != null) {
+                    hits.increment();
+                    @SuppressWarnings("unchecked")
+                    T value = (T) cached;
+                    return value;
+                }
+            } else {
+                entry = new UserEntry(now);
+                users.put(userId, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+
+        // Load outside the lock. The entry is the load's ticket: an invalidation in the meantime
+        // removes it, and the stale result is then returned to this caller but not cached.
+        T value = loader.get();
+        if (value == null) {
+            return null;
+        }
+        int valueWeight = weigher.applyAsInt(value) + 1;
+        if (valueWeight > maxWeight) {
+            return value;
+        }
+        lock.lock();
+        try {
+            if (users.get(userId) == entry && entry.values.putIfAbsent(key, value) == null) {
+                entry.weight += valueWeight;
+                weight += valueWeight;
+                evictOverweight();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return value;
+    }
+
+    /**
+     * Drops everything cached for the user here and on every other node.
+     */
+    public void invalidate(String userId) {
+        evict(userId);
+        invalidationChannel.publish(userId);
+    }
+
+    /**
+     * Drops what this node caches for the user, without telling other nodes.
+     */
+    public void evict(String userId) {
+        lock.lock();
+        try {
+            if (remove(userId)) {
+                invalidations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean remove(String userId) {
+        UserEntry removed = users.remove(userId);
+        if (removed == null) {
+            return false;
+        }
+        weight -= removed.weight;
+        return true;
+    }
+
+    private void evictOverweight() {
+        Iterator<UserEntry> eldest = users.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= eldest.next().weight;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public long getWeight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getUserCount() {
+        lock.lock();
+        try {
+            return users.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class UserEntry {
+        private final long loadedAt;
+        private final Map<String, Object> values = new HashMap<>(4);
+        private long weight;
+
+        UserEntry(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.mogeni.taskido.service;
+
+import com.mogeni.taskido.dto.TaskStats;
+import com.mogeni.taskido.exception.BadRequestException;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Daily and weekly completion rollups per user, one document per user, period and bucket start:
+ * {userId, period, start, created, completed, reopened, ttc}. ttc is a {@link DurationHistogram}
+ * of time-to-complete (updatedAt - createdAt at completion). Buckets are only ever incremented
+ * by {@link TaskService} writes, so stats never read the tasks themselves. Tasks that existed
+ * before rollups were introduced are not represented. Subclasses store the bucket documents.
+ */
+public abstract class TaskRollups {
+
+    static final String DAY = "day";
+    static final String WEEK = "week";
+
+    @Value("${tasks.stats.max-days:1100}")
+    private int maxDays;
+
+    public Recorder recorder(String userId) {
+        return new Recorder(userId);
+    }
+
+    /**
+     * Per-bucket and overall stats for {@code from..to} inclusive, by day or by ISO week.
+     */
+    public TaskStats stats(String userId, LocalDate from, LocalDate to, String period) {
+        String normalized = period == null ? DAY : period.toLowerCase(Locale.ROOT);
+        if (!DAY.equals(normalized) && !WEEK.equals(normalized)) {
+            throw new BadRequestException("period must be day or week");
+        }
+        if (to.isBefore(from)) {
+            throw new BadRequestException("to must not be before from");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new BadRequestException("Range exceeds " + maxDays + " days");
+        }
+        LocalDate first = WEEK.equals(normalized) ? weekStart(from) : from;
+        List<TaskStats.Bucket> buckets = new ArrayList<>();
+        long created = 0;
+        long completed = 0;
+        long reopened = 0;
+        Map<Integer, Long> ttc = new HashMap<>();
+        for (Document rollup : read(userId, normalized, first, to)) {
+            Map<Integer, Long> bucketTtc = histogram(rollup.get("ttc", Document.class));
+            TaskStats.Bucket bucket = new TaskStats.Bucket(LocalDate.parse(rollup.getString("start")),
+                    number(rollup, "created"), number(rollup, "completed"), number(rollup, "reopened"),
+                    DurationHistogram.median(bucketTtc));
+            buckets.add(bucket);
+            created += bucket.getCreated();
+            completed += bucket.getCompleted();
+            reopened += bucket.getReopened();
+            bucketTtc.forEach((bin, count) -> ttc.merge(bin, count, Long::sum));
+        }
+        return new TaskStats(normalized, created, completed, reopened, DurationHistogram.median(ttc), buckets);
+    }
+
+    /**
+     * The user's rollup documents of {@code period} whose start lies in {@code first..to}, in
+     * start order.
+     */
+    protected abstract Iterable<Document> read(String userId, String period, LocalDate first, LocalDate to);
+
+    /**
+     * Applies one recorder's increments: bucket document id to its $inc document (nested fields
+     * as dotted names), and bucket document id to its {period, start}.
+     */
+    protected abstract void write(String userId, Map<String, Document> increments, Map<String, String[]> keys);
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static Map<Integer, Long> histogram(Document ttc) {
+        Map<Integer, Long> counts = new HashMap<>();
+        if (ttc != null) {
+            ttc.forEach((bin, count) -> counts.put(Integer.parseInt(bin), ((Number) count).longValue()));
+        }
+        return counts;
+    }
+
+    private static long number(Document document, String field) {
+        Number value = document.get(field, Number.class);
+        return value != null ? value.longValue() : 0L;
+    }
+
+    /**
+     * Collects the rollup increments of one user's write and applies them in a single
+     * {@link #write}, one increment per touched bucket.
+     */
+    public class Recorder {
+        private final String userId;
+        // bucket document id -> $inc document
+        private final Map<String, Document> increments = new LinkedHashMap<>();
+        private final Map<String, String[]> keys = new HashMap<>();
+
+        private Recorder(String userId) {
+            this.userId = userId;
+        }
+
+        public Recorder created(LocalDateTime at) {
+            return add(at, "created");
+        }
+
+        /**
+         * Records a completion at {@code at}; {@code createdAt} may be null when the time to
+         * complete is unknown (e.g. imported tasks).
+         */
+        public Recorder completed(LocalDateTime at, LocalDateTime createdAt) {
+            add(at, "completed");
+            if (createdAt != null) {
+                long millis = Math.max(0, Duration.between(createdAt, at).toMillis());
+                add(at, "ttc." + DurationHistogram.bin(millis));
+            }
+            return this;
+        }
+
+        public Recorder reopened(LocalDateTime at) {
+            return add(at, "reopened");
+        }
+
+        public void flush() {
+            if (increments.isEmpty()) {
+                return;
+            }
+            write(userId, increments, keys);
+            increments.clear();
+        }
+
+        private Recorder add(LocalDateTime at, String field) {
+            LocalDate day = at.toLocalDate();
+            increment(DAY, day, field);
+            increment(WEEK, weekStart(day), field);
+            return this;
+        }
+
+        private void increment(String period, LocalDate start, String field) {
+            String id = userId + '|' + period + '|' + start;
+            keys.putIfAbsent(id, new String[]{period, start.toString()});
+            increments.computeIfAbsent(id, key -> new Document()).merge(field, 1L, (a, b) -> (Long) a + (Long) b);
+        }
+    }
+}
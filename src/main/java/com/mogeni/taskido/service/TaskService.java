@@ -1,22 +1,220 @@
 package com.mogeni.taskido.service;
 
+import com.mogeni.taskido.dto.TaskBatchOperation;
+import com.mogeni.taskido.dto.TaskBatchRequest;
+import com.mogeni.taskido.dto.TaskBatchResult;
+import com.mogeni.taskido.dto.TaskChanges;
+import com.mogeni.taskido.dto.TaskFields;
+import com.mogeni.taskido.dto.TaskPage;
+import com.mogeni.taskido.dto.TaskPatch;
+import com.mogeni.taskido.dto.TaskStats;
+import com.mogeni.taskido.dto.TaskSummary;
+import com.mogeni.taskido.exception.BadRequestException;
 import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.model.TaskTombstone;
+import com.mogeni.taskido.repository.TaskBulkResult;
+import com.mogeni.taskido.repository.TaskCursor;
 import com.mogeni.taskido.repository.TaskRepository;
+import com.mogeni.taskido.repository.TaskTombstoneRepository;
+import com.mogeni.taskido.repository.TaskTransition;
+import com.mogeni.taskido.repository.TaskWrite;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
+    private static final String ZERO_ID = "000000000000000000000000";
+
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private TaskSuggestIndex taskSuggestIndex;
+
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Autowired
+    private TaskVersions taskVersions;
+
+    @Autowired
+    private TaskCounters taskCounters;
+
+    @Autowired
+    private TaskRollups taskRollups;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${tasks.batch.max-size:500}")
+    private int maxBatchSize;
+
+    @Value("${tasks.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${tasks.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${tasks.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    @Value("${tasks.sync.settle-ms:2000}")
+    private long syncSettleMs;
+
+    /**
+     * Version of the user's task list; it changes with every write to any of the user's tasks.
+     */
+    public long getTaskListVersion(String userId) {
+        return taskVersions.current(userId);
+    }
+
+    /**
+     * Total, completed and pending task counts from the user's counter document.
+     */
+    public TaskSummary getSummaryForUser(String userId) {
+        return taskCounters.get(userId);
+    }
+
+    /**
+     * Created/completed counts and median time-to-complete per day or ISO week, from the rollups.
+     */
+    public TaskStats getStatsForUser(String userId, LocalDate from, LocalDate to, String period) {
+        return taskRollups.stats(userId, from, to, period);
+    }
+
     public List<Task> getAllTasksByUserId(String userId) {
-        return taskRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        return taskListCache.get(userId, "all",
+                () -> Collections.unmodifiableList(taskRepository.findByUserIdOrderByCreatedAtDesc(userId)),
+                List::size);
+    }
+
+    /**
+     * One page of the user's tasks, newest first. {@code completed} may be null for all tasks,
+     * {@code cursor} is the {@code next} token of the previous page or null for the first page.
+     */
+    public TaskPage getTaskPageForUser(String userId, Boolean completed, String cursor, Integer size) {
+        return getTaskPageForUser(userId, completed, cursor, size, null);
+    }
+
+    /**
+     * Same as {@link #getTaskPageForUser(String, Boolean, String, Integer)} but reads and returns
+     * only {@code fields} per task when non-null.
+     */
+    public TaskPage getTaskPageForUser(String userId, Boolean completed, String cursor, Integer size, Set<String> fields) {
+        int limit = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        if ((cursor == null || cursor.isEmpty()) && fields == null) {
+            // First pages are what polling clients fetch, so those are cached
+            return taskListCache.get(userId, "page:" + completed + ":" + limit,
+                    () -> readPage(userId, completed, null, limit, null), page -> page.getItems().size());
+        }
+        TaskCursor after = cursor != null && !cursor.isEmpty() ? TaskCursor.decode(cursor) : null;
+        return readPage(userId, completed, after, limit, fields);
+    }
+
+    private TaskPage readPage(String userId, Boolean completed, TaskCursor after, int limit, Set<String> fields) {
+        // Fetch one extra row to learn whether another page exists
+        List<Task> tasks = taskRepository.findPageByUserId(userId, completed, after, limit + 1, fields);
+        String next = null;
+        if (tasks.size() > limit) {
+            tasks = tasks.subList(0, limit);
+            Task last = tasks.get(limit - 1);
+            next = new TaskCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new TaskPage(Collections.unmodifiableList(fields != null ? TaskFields.project(tasks, fields) : tasks), next);
+    }
+
+    /**
+     * Tasks created, updated or deleted since the checkpoint {@code since} (the {@code next} of a
+     * previous response, or null to start from scratch). Changes younger than
+     * {@code tasks.sync.settle-ms} are held back so a write still in flight on another node, or
+     * stamped by a slightly slow clock, is not skipped by the checkpoint.
+     */
+    public TaskChanges getChangesForUser(String userId, String since, Integer size) {
+        int limit = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        LocalDateTime now = LocalDateTime.now();
+        // Stored dates have millisecond precision, so checkpoints do too
+        LocalDateTime until = now.minus(syncSettleMs, ChronoUnit.MILLIS).truncatedTo(ChronoUnit.MILLIS);
+        TaskCursor after = since != null && !since.isEmpty() ? TaskCursor.decode(since) : null;
+        boolean reset = false;
+        if (after != null && after.getCreatedAt().isBefore(now.minus(tombstoneRetention))) {
+            // Tombstones older than the checkpoint may already be gone
+            after = null;
+            reset = true;
+        }
+
+        List<Task> tasks = taskRepository.findChangedByUserId(userId, after, until, limit + 1);
+        List<TaskTombstone> tombstones = taskRepository.findDeletedByUserId(userId, after, until, limit + 1);
+        List<Task> changed = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        TaskCursor last = null;
+        int t = 0;
+        int d = 0;
+        // Merge both feeds in (time, id) order so one checkpoint covers both
+        while (changed.size() + deleted.size() < limit && (t < tasks.size() || d < tombstones.size())) {
+            TaskCursor taskKey = t < tasks.size() ? new TaskCursor(tasks.get(t).getUpdatedAt(), tasks.get(t).getId()) : null;
+            TaskCursor tombstoneKey = d < tombstones.size()
+                    ? new TaskCursor(tombstones.get(d).getDeletedAt(), tombstones.get(d).getId()) : null;
+            if (tombstoneKey == null || (taskKey != null && compare(taskKey, tombstoneKey) <= 0)) {
+                changed.add(tasks.get(t++));
+                last = taskKey;
+            } else {
+                deleted.add(tombstones.get(d++).getId());
+                last = tombstoneKey;
+            }
+        }
+        boolean hasMore = t < tasks.size() || d < tombstones.size();
+        TaskCursor next = last;
+        if (!hasMore) {
+            // Caught up: everything up to until has been seen, even if it was nothing
+            TaskCursor settled = new TaskCursor(until, ZERO_ID);
+            if (next == null || compare(next, settled) < 0) {
+                next = settled;
+            }
+        }
+        return new TaskChanges(changed, deleted, next.encode(), hasMore, reset);
+    }
+
+    private static int compare(TaskCursor a, TaskCursor b) {
+        int byTime = a.getCreatedAt().compareTo(b.getCreatedAt());
+        return byTime != 0 ? byTime : a.getId().compareTo(b.getId());
+    }
+
+    /**
+     * All of the user's tasks newest first, read lazily from a MongoDB cursor. Close the stream.
+     */
+    public Stream<Task> streamTasksForUser(String userId) {
+        return taskRepository.streamByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    // Unpaged listing reading only the selected fields; completed may be null for all tasks
+    public List<Task> getTasksForUser(String userId, Boolean completed, Set<String> fields) {
+        return taskRepository.findAllByUserId(userId, completed, fields);
     }
 
     public Optional<Task> getTaskByIdAndUserId(String id, String userId) {
@@ -26,49 +224,353 @@ public class TaskService {
     public Task createTask(Task task) {
         task.setCreatedAt(LocalDateTime.now());
         task.setUpdatedAt(LocalDateTime.now());
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        created(saved);
+        return saved;
     }
 
     public Task updateTaskForUser(String id, Task taskDetails, String userId) {
-        Optional<Task> optionalTask = taskRepository.findByIdAndUserId(id, userId);
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            task.setName(taskDetails.getName());
-            task.setDescription(taskDetails.getDescription());
-            task.setCompleted(taskDetails.isCompleted());
-            task.setUpdatedAt(LocalDateTime.now());
-            return taskRepository.save(task);
+        TaskTransition updated = taskRepository.updateByIdAndUserId(id, userId,
+                taskDetails.getName(), taskDetails.getDescription(), taskDetails.isCompleted());
+        if (updated == null) {
+            return null;
         }
-        return null;
+        updated(userId, updated, true);
+        return updated.getAfter();
+    }
+
+    /**
+     * Applies only the supplied fields. Returns the resulting task, or null if the user has no such
+     * task. A patch that supplies nothing, or only current values, performs no write.
+     */
+    public Task patchTaskForUser(String id, TaskPatch patch, String userId) {
+        patch.validate();
+        Map<String, Object> changes = patch.getChanges();
+        if (changes.isEmpty()) {
+            return taskRepository.findByIdAndUserId(id, userId).orElse(null);
+        }
+        TaskTransition patched = taskRepository.patchByIdAndUserId(id, userId, changes);
+        if (patched == null) {
+            // Either not the user's task or nothing changed; only the rare no-op case pays this read
+            return taskRepository.findByIdAndUserId(id, userId).orElse(null);
+        }
+        updated(userId, patched, changes.containsKey("name"));
+        return patched.getAfter();
     }
 
     public boolean deleteTaskForUser(String id, String userId) {
-        Optional<Task> optionalTask = taskRepository.findByIdAndUserId(id, userId);
-        if (optionalTask.isPresent()) {
-            taskRepository.deleteById(id);
-            return true;
+        Task deleted = taskRepository.removeByIdAndUserId(id, userId);
+        if (deleted == null) {
+            return false;
         }
-        return false;
+        deleted(userId, deleted);
+        return true;
+    }
+
+    // Bookkeeping after single-task writes, shared with ReactiveTaskService, which calls it off the event loop
+
+    void created(Task saved) {
+        taskSuggestIndex.onSaved(saved);
+        taskCounters.add(saved.getUserId(), 1, saved.isCompleted() ? 1 : 0);
+        TaskRollups.Recorder rollups = taskRollups.recorder(saved.getUserId()).created(saved.getCreatedAt());
+        if (saved.isCompleted()) {
+            rollups.completed(saved.getCreatedAt(), saved.getCreatedAt());
+        }
+        rollups.flush();
+        changed(saved.getUserId());
+    }
+
+    // renamed: the write may have changed the name, which the suggest index keys on
+    void updated(String userId, TaskTransition transition, boolean renamed) {
+        if (renamed) {
+            taskSuggestIndex.onSaved(transition.getAfter());
+        }
+        if (transition.completedChanged()) {
+            Task after = transition.getAfter();
+            taskCounters.add(userId, 0, after.isCompleted() ? 1 : -1);
+            TaskRollups.Recorder rollups = taskRollups.recorder(userId);
+            if (after.isCompleted()) {
+                rollups.completed(after.getUpdatedAt(), after.getCreatedAt());
+            } else {
+                rollups.reopened(after.getUpdatedAt());
+            }
+            rollups.flush();
+        }
+        changed(userId);
+    }
+
+    void deleted(String userId, Task deleted) {
+        taskTombstoneRepository.save(new TaskTombstone(deleted.getId(), userId, LocalDateTime.now()));
+        taskSuggestIndex.onDeleted(userId, deleted.getId());
+        taskCounters.add(userId, -1, deleted.isCompleted() ? -1 : 0);
+        changed(userId);
     }
 
     public List<Task> getTasksByCompletionStatusForUser(String userId, boolean completed) {
-        return taskRepository.findByUserIdAndCompletedOrderByCreatedAtDesc(userId, completed);
+        return taskListCache.get(userId, "completed:" + completed,
+                () -> Collections.unmodifiableList(taskRepository.findByUserIdAndCompletedOrderByCreatedAtDesc(userId, completed)),
+                List::size);
     }
 
     public List<Task> searchTasksByNameForUser(String userId, String name) {
-        return taskRepository.findByUserIdAndNameContainingIgnoreCase(userId, name);
+        return searchTasksForUser(userId, name, 0, null, null);
+    }
+
+    /**
+     * Ranked full-text search over name and description. Terms are matched as whole words
+     * (with stemming), not substrings; use the suggest endpoint for prefix matching.
+     */
+    public List<Task> searchTasksForUser(String userId, String text, int page, Integer size, Set<String> fields) {
+        List<String> terms = tokenize(text);
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int limit = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        return taskRepository.searchByUserId(userId, terms, Math.max(page, 0) * limit, limit, fields);
+    }
+
+    public List<String> suggestTaskNamesForUser(String userId, String prefix, int limit) {
+        return taskSuggestIndex.suggest(userId, prefix, Math.min(limit, maxPageSize));
+    }
+
+    // Split on anything that is not a letter or digit so user input never reaches $search operators
+    static List<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text != null) {
+            for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!token.isEmpty()) {
+                    terms.add(token);
+                }
+            }
+        }
+        return new ArrayList<>(terms);
     }
 
     public Task toggleTaskCompletionForUser(String id, String userId) {
-        Optional<Task> optionalTask = taskRepository.findByIdAndUserId(id, userId);
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            task.setCompleted(!task.isCompleted());
-            task.setUpdatedAt(LocalDateTime.now());
-            return taskRepository.save(task);
+        TaskTransition toggled = taskRepository.toggleCompletedByIdAndUserId(id, userId);
+        if (toggled == null) {
+            return null;
         }
-        return null;
+        updated(userId, toggled, false);
+        return toggled.getAfter();
     }
 
+    /**
+     * Applies a batch of create/update/toggle/delete operations for the user with one ownership
+     * lookup and one bulk write. Invalid or foreign-task operations are reported per item and left
+     * out of the write; they do not stop the rest of the batch.
+     */
+    public List<TaskBatchResult> applyBatchForUser(String userId, TaskBatchRequest request) {
+        List<TaskBatchOperation> operations = request.getOperations();
+        if (operations.size() > maxBatchSize) {
+            throw new BadRequestException("Batch exceeds " + maxBatchSize + " operations");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskBatchResult> results = new ArrayList<>(operations.size());
+        Set<String> targetIds = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperation operation = operations.get(i);
+            TaskBatchResult result = new TaskBatchResult(i, operation.getOp(), operation.getId());
+            results.add(result);
+            String error = validateBatchOperation(operation);
+            if (error != null) {
+                fail(result, HttpStatus.BAD_REQUEST, error);
+            } else if (operation.getOp() == TaskBatchOperation.Type.CREATE) {
+                Task task = new Task(operation.getTask().getName(), operation.getTask().getDescription(), userId);
+                task.setId(new ObjectId().toHexString());
+                task.setCompleted(operation.getTask().isCompleted());
+                task.setCreatedAt(now);
+                task.setUpdatedAt(now);
+                result.setId(task.getId());
+                result.setTask(task);
+            } else {
+                targetIds.add(operation.getId());
+            }
+        }
+
+        // Current state of each owned target, replayed below to derive counter and rollup deltas
+        Map<String, Task> stateById = new HashMap<>();
+        if (!targetIds.isEmpty()) {
+            for (Task owned : taskRepository.findStatesByUserIdAndIdIn(userId, targetIds)) {
+                stateById.put(owned.getId(), owned);
+            }
+        }
+        Set<String> ownedIds = new HashSet<>(stateById.keySet());
 
+        List<TaskWrite> writes = new ArrayList<>();
+        List<TaskBatchResult> writeResults = new ArrayList<>();
+        for (TaskBatchResult result : results) {
+            if (result.getError() != null) {
+                continue;
+            }
+            TaskBatchOperation operation = operations.get(result.getIndex());
+            if (operation.getOp() == TaskBatchOperation.Type.CREATE) {
+                writes.add(TaskWrite.insert(result.getTask()));
+            } else if (ownedIds.contains(operation.getId())) {
+                writes.add(switch (operation.getOp()) {
+                    case UPDATE -> TaskWrite.update(operation.getId(), operation.getTask());
+                    case TOGGLE -> TaskWrite.toggle(operation.getId());
+                    default -> TaskWrite.delete(operation.getId());
+                });
+            } else {
+                fail(result, HttpStatus.NOT_FOUND, "Task not found");
+                continue;
+            }
+            writeResults.add(result);
+        }
+        if (writes.isEmpty()) {
+            return results;
+        }
+
+        TaskBulkResult written = taskRepository.bulkWrite(userId, writes, request.isOrdered());
+        Map<Integer, String> errors = written.getErrors();
+        List<TaskTombstone> tombstones = new ArrayList<>();
+        long totalDelta = 0;
+        long completedDelta = 0;
+        TaskRollups.Recorder rollups = taskRollups.recorder(userId);
+        LocalDateTime writtenAt = LocalDateTime.now();
+        int firstError = errors.keySet().stream().mapToInt(Integer::intValue).min().orElse(Integer.MAX_VALUE);
+        for (int i = 0; i < writeResults.size(); i++) {
+            TaskBatchResult result = writeResults.get(i);
+            TaskWrite write = writes.get(i);
+            if (errors.containsKey(i)) {
+                fail(result, HttpStatus.CONFLICT, errors.get(i));
+            } else if (request.isOrdered() && i > firstError) {
+                fail(result, HttpStatus.CONFLICT, "Not executed: an earlier operation failed");
+            } else if (written.isUnmatched(i)) {
+                // Deleted since the ownership read; nothing was written, so there is nothing to record
+                fail(result, HttpStatus.NOT_FOUND, "Task not found");
+            } else {
+                switch (write.getKind()) {
+                    case INSERT -> {
+                        result.setStatus(HttpStatus.CREATED.value());
+                        taskSuggestIndex.onSaved(write.getTask());
+                        totalDelta++;
+                        rollups.created(write.getTask().getCreatedAt());
+                        if (write.getTask().isCompleted()) {
+                            completedDelta++;
+                            rollups.completed(write.getTask().getCreatedAt(), write.getTask().getCreatedAt());
+                        }
+                    }
+                    case UPDATE -> {
+                        result.setStatus(HttpStatus.OK.value());
+                        Task renamed = new Task(write.getTask().getName(), null, userId);
+                        renamed.setId(write.getId());
+                        taskSuggestIndex.onSaved(renamed);
+                        completedDelta += replay(stateById.get(write.getId()), write.getTask().isCompleted(), writtenAt, rollups);
+                    }
+                    case TOGGLE -> {
+                        result.setStatus(HttpStatus.OK.value());
+                        Task state = stateById.get(write.getId());
+                        if (state != null) {
+                            completedDelta += replay(state, !state.isCompleted(), writtenAt, rollups);
+                        }
+                    }
+                    case DELETE -> {
+                        result.setStatus(HttpStatus.NO_CONTENT.value());
+                        taskSuggestIndex.onDeleted(userId, write.getId());
+                        tombstones.add(new TaskTombstone(write.getId(), userId, LocalDateTime.now()));
+                        Task state = stateById.remove(write.getId());
+                        if (state != null) {
+                            totalDelta--;
+                            completedDelta -= state.isCompleted() ? 1 : 0;
+                        }
+                    }
+                }
+            }
+        }
+        if (!tombstones.isEmpty()) {
+            taskTombstoneRepository.saveAll(tombstones);
+        }
+        taskCounters.add(userId, totalDelta, completedDelta);
+        rollups.flush();
+        changed(userId);
+        return results;
+    }
+
+    /**
+     * Inserts already validated tasks, each carrying a preassigned id, in one unordered bulk write.
+     * Returns the index and error of every task that failed to insert.
+     */
+    public Map<Integer, String> insertImportedTasks(String userId, List<Task> tasks) {
+        List<TaskWrite> writes = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            writes.add(TaskWrite.insert(task));
+        }
+        Map<Integer, String> errors = taskRepository.bulkWrite(userId, writes, false).getErrors();
+        long inserted = 0;
+        long completed = 0;
+        TaskRollups.Recorder rollups = taskRollups.recorder(userId);
+        for (int i = 0; i < tasks.size(); i++) {
+            if (!errors.containsKey(i)) {
+                Task task = tasks.get(i);
+                taskSuggestIndex.onSaved(task);
+                inserted++;
+                rollups.created(task.getCreatedAt());
+                if (task.isCompleted()) {
+                    completed++;
+                    // When an imported task was completed is unknown, so it adds no time-to-complete sample
+                    rollups.completed(task.getUpdatedAt(), null);
+                }
+            }
+        }
+        if (inserted > 0) {
+            taskCounters.add(userId, inserted, completed);
+            rollups.flush();
+            changed(userId);
+        }
+        return errors;
+    }
+
+    // Applies a batch write's new completed value to the pre-read state; returns the counter delta
+    private static int replay(Task state, boolean completed, LocalDateTime at, TaskRollups.Recorder rollups) {
+        if (state == null || state.isCompleted() == completed) {
+            return 0;
+        }
+        state.setCompleted(completed);
+        if (completed) {
+            rollups.completed(at, state.getCreatedAt());
+            return 1;
+        }
+        rollups.reopened(at);
+        return -1;
+    }
+
+    // Every successful write path ends here. The local cache is dropped before the version moves,
+    // so a racing read can only pair the old ETag with the new list, never the new ETag with the
+    // old list; other nodes are told after the bump, so the version they reload is the new one.
+    private void changed(String userId) {
+        taskListCache.evict(userId);
+        taskVersions.bump(userId);
+        taskListCache.invalidate(userId);
+    }
+
+    private String validateBatchOperation(TaskBatchOperation operation) {
+        if (operation.getOp() == null) {
+            return "Operation type required";
+        }
+        if (operation.getOp() != TaskBatchOperation.Type.CREATE
+                && (operation.getId() == null || !ObjectId.isValid(operation.getId()))) {
+            return "Valid task id required";
+        }
+        if (operation.getOp() == TaskBatchOperation.Type.CREATE || operation.getOp() == TaskBatchOperation.Type.UPDATE) {
+            if (operation.getTask() == null) {
+                return "Task body required";
+            }
+            Set<ConstraintViolation<Task>> violations = validator.validate(operation.getTask());
+            if (!violations.isEmpty()) {
+                return violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+            }
+        }
+        return null;
+    }
+
+    private static void fail(TaskBatchResult result, HttpStatus status, String error) {
+        result.setStatus(status.value());
+        result.setError(error);
+        result.setTask(null);
+    }
 }
@@ -0,0 +1,227 @@
+package com.mogeni.taskido.service;
+
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory per-user prefix index of task names for autocomplete. A user's index is built lazily
+ * from MongoDB on first use, kept current by {@link TaskService} writes, and dropped when the user
+ * falls out of the LRU window.
+ */
+@Component
+public class TaskSuggestIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int LOAD_ATTEMPTS = 3;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskInvalidationChannel invalidationChannel;
+
+    @Value("${tasks.suggest.max-users:10000}")
+    private int maxUsers;
+
+    // A ReentrantLock rather than synchronized so waiting virtual threads don't pin their carrier
+    private final ReentrantLock usersLock = new ReentrantLock();
+
+    // Access-ordered so the eldest entry is the coldest user; only touched under usersLock
+    private final LinkedHashMap<String, UserIndex> users = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UserIndex> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    // Index loads in flight, by user; only touched under usersLock
+    private final Map<String, Load> loads = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        // Writes on other nodes can't be applied incrementally here; rebuild the user's index instead
+        invalidationChannel.subscribe(this::evict);
+    }
+
+    public List<String> suggest(String userId, String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        return indexFor(userId).suggest(normalized, limit);
+    }
+
+    public void onSaved(Task task) {
+        UserIndex index = written(task.getUserId());
+        if (index != null) {
+            index.put(task.getId(), task.getName());
+        }
+    }
+
+    public void onDeleted(String userId, String taskId) {
+        UserIndex index = written(userId);
+        if (index != null) {
+            index.remove(taskId);
+        }
+    }
+
+    public void evict(String userId) {
+        usersLock.lock();
+        try {
+            users.remove(userId);
+            Load load = loads.get(userId);
+            if (load != null) {
+                load.writes++;
+            }
+        } finally {
+            usersLock.unlock();
+        }
+    }
+
+    /**
+     * The user's index, if loaded, after counting a write against any load of it in flight.
+     */
+    private UserIndex written(String userId) {
+        usersLock.lock();
+        try {
+            Load load = loads.get(userId);
+            if (load != null) {
+                load.writes++;
+            }
+            return users.get(userId);
+        } finally {
+            usersLock.unlock();
+        }
+    }
+
+    private UserIndex indexFor(String userId) {
+        UserIndex loaded = null;
+        for (int attempt = 0; attempt < LOAD_ATTEMPTS; attempt++) {
+            Load load;
+            long writes;
+            usersLock.lock();
+            try {
+                UserIndex index = users.get(userId);
+                if (index != null) {
+                    return index;
+                }
+                load = loads.computeIfAbsent(userId, id -> new Load());
+                load.loaders++;
+                writes = load.writes;
+            } finally {
+                usersLock.unlock();
+            }
+            // Load outside the lock so a slow query never blocks other users' keystrokes. A write
+            // during the load may be missing from it, so such a load is retried rather than kept.
+            try {
+                loaded = load(userId);
+            } catch (RuntimeException e) {
+                finish(userId, load);
+                throw e;
+            }
+            usersLock.lock();
+            try {
+                finish(userId, load);
+                UserIndex raced = users.get(userId);
+                if (raced != null) {
+                    return raced;
+                }
+                if (load.writes == writes) {
+                    users.put(userId, loaded);
+                    return loaded;
+                }
+            } finally {
+                usersLock.unlock();
+            }
+        }
+        // Writes keep racing the load: answer from the last one without keeping it
+        return loaded;
+    }
+
+    private UserIndex load(String userId) {
+        UserIndex index = new UserIndex();
+        for (Task task : taskRepository.findNamesByUserId(userId)) {
+            index.put(task.getId(), task.getName());
+        }
+        return index;
+    }
+
+    private void finish(String userId, Load load) {
+        usersLock.lock();
+        try {
+            if (--load.loaders == 0) {
+                loads.remove(userId);
+            }
+        } finally {
+            usersLock.unlock();
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(value.trim(), Normalizer.Form.NFD)).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT);
+    }
+
+    private static class UserIndex {
+        // normalized name + '\0' + id -> display name, so equal names from different tasks coexist
+        private final NavigableMap<String, String> names = new ConcurrentSkipListMap<>();
+        private final Map<String, String> keysById = new ConcurrentHashMap<>();
+
+        void put(String id, String name) {
+            if (id == null || name == null) {
+                return;
+            }
+            String key = normalize(name) + '\0' + id;
+            String previous = keysById.put(id, key);
+            if (previous != null && !previous.equals(key)) {
+                names.remove(previous);
+            }
+            names.put(key, name);
+        }
+
+        void remove(String id) {
+            String key = keysById.remove(id);
+            if (key != null) {
+                names.remove(key);
+            }
+        }
+
+        List<String> suggest(String prefix, int limit) {
+            Set<String> matches = new LinkedHashSet<>();
+            for (String name : names.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                matches.add(name);
+                if (matches.size() >= limit) {
+                    break;
+                }
+            }
+            return new ArrayList<>(matches);
+        }
+    }
+
+    private static final class Load {
+        private int loaders;
+        private long writes;
+    }
+}
@@ -0,0 +1,86 @@
+package com.mogeni.taskido.service;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Periodically rebuilds every user's task counters from the tasks collection, correcting drift
+ * from writes that raced a recount or from changes made outside {@link TaskService}. Every node
+ * schedules the job, but only the one that takes the lease on a {@code scheduler_locks} document
+ * runs it; the lease is left to expire, so nodes with slightly skewed clocks don't run it again.
+ * Without MongoDB (embedded storage) there is a single node and no lock.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.summary.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskSummaryReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSummaryReconciler.class);
+    private static final String LOCKS = "scheduler_locks";
+    private static final String LOCK_ID = "task-summary-reconcile";
+
+    @Autowired
+    private TaskCounters taskCounters;
+
+    @Autowired
+    private ObjectProvider<MongoTemplate> mongoTemplates;
+
+    @Value("${tasks.summary.reconcile.lock-for:10m}")
+    private Duration lockFor;
+
+    private final String node = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Scheduled(cron = "${tasks.summary.reconcile.cron:0 30 3 * * *}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        try {
+            if (!lock(started)) {
+                logger.debug("Task counter reconciliation is running on another node");
+                return;
+            }
+            long emptied = taskCounters.reconcileAll();
+            logger.info("Task counters reconciled in {} ms ({} users without tasks)",
+                    System.currentTimeMillis() - started, emptied);
+        } catch (RuntimeException e) {
+            logger.error("Task counter reconciliation failed", e);
+        }
+    }
+
+    // Takes the lease if it is free or expired; a live lease makes the upsert collide on _id
+    private boolean lock(long now) {
+        MongoTemplate mongoTemplate = mongoTemplates.getIfAvailable();
+        if (mongoTemplate == null) {
+            return true;
+        }
+        try {
+            mongoTemplate.getCollection(LOCKS).updateOne(
+                    Filters.and(Filters.eq("_id", LOCK_ID), Filters.lte("lockedUntil", new Date(now))),
+                    Updates.combine(
+                            Updates.set("lockedUntil", new Date(now + lockFor.toMillis())),
+                            Updates.set("lockedAt", new Date(now)),
+                            Updates.set("lockedBy", node)),
+                    new UpdateOptions().upsert(true));
+            return true;
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                return false;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.mogeni.taskido.service;
+
+/**
+ * Per-user change version of the task list, bumped by every {@link TaskService} write and used
+ * as the ETag of list responses. Versions of a user only ever grow.
+ */
+public interface TaskVersions {
+
+    long current(String userId);
+
+    /**
+     * Increments and returns the user's version.
+     */
+    long bump(String userId);
+}
@@ -2,7 +2,9 @@ package com.mogeni.taskido.service;
 
 import com.mogeni.taskido.model.User;
 import com.mogeni.taskido.repository.UserRepository;
+import com.mogeni.taskido.security.JwtClaims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,6 +13,8 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,6 +23,14 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Value("${jwt.principal-cache.ttl:60000}")
+    private long principalCacheTtlMs;
+
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private int principalCacheMaxSize;
+
+    private final Map<String, CachedPrincipal> principalCache = new ConcurrentHashMap<>();
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
@@ -27,6 +39,44 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         return UserPrincipal.create(user);
     }
 
+    /**
+     * Same as {@link #loadUserByUsername(String)} but served from a short-lived cache, for the
+     * per-request JWT path. Entries live for {@code jwt.principal-cache.ttl} ms or until
+     * {@link #evictUser(String)} is called.
+     */
+    public UserDetails loadCachedUserByUsername(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = principalCache.get(username);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.principal;
+        }
+        UserDetails principal = loadUserByUsername(username);
+        if (principalCacheMaxSize > 0) {
+            if (principalCache.size() >= principalCacheMaxSize) {
+                principalCache.values().removeIf(entry -> entry.expiresAt <= now);
+                if (principalCache.size() >= principalCacheMaxSize) {
+                    principalCache.clear();
+                }
+            }
+            principalCache.put(username, new CachedPrincipal(principal, now + principalCacheTtlMs));
+        }
+        return principal;
+    }
+
+    public void evictUser(String username) {
+        principalCache.remove(username);
+    }
+
+    private static class CachedPrincipal {
+        private final UserDetails principal;
+        private final long expiresAt;
+
+        private CachedPrincipal(UserDetails principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+
     public static class UserPrincipal implements UserDetails {
         private String id;
         private String username;
@@ -43,19 +93,32 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         }
 
         public static UserPrincipal create(User user) {
-            Collection<GrantedAuthority> authorities = user.getRoles().stream()
-                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                    .collect(Collectors.toList());
-
             return new UserPrincipal(
                     user.getId(),
                     user.getUsername(),
                     user.getEmail(),
                     user.getPassword(),
-                    authorities
+                    toAuthorities(user.getRoles())
+            );
+        }
+
+        // Built purely from signed token claims; email and password are not carried in the token
+        public static UserPrincipal create(JwtClaims claims) {
+            return new UserPrincipal(
+                    claims.getUserId(),
+                    claims.getUsername(),
+                    null,
+                    null,
+                    toAuthorities(claims.getRoles())
             );
         }
 
+        private static Collection<GrantedAuthority> toAuthorities(Collection<String> roles) {
+            return roles.stream()
+                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                    .collect(Collectors.toList());
+        }
+
         public String getId() {
             return id;
         }
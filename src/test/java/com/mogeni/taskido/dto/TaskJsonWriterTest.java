@@ -0,0 +1,72 @@
+package com.mogeni.taskido.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mogeni.taskido.model.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class TaskJsonWriterTest {
+
+	// Built the way Spring Boot builds the application's ObjectMapper, including its date default
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.build();
+
+	private static Task task(String name, String description, boolean completed, LocalDateTime createdAt, LocalDateTime updatedAt) {
+		return new Task("6650c0ffee0000000000abcd", name, description, completed, "650000000000000000000001", createdAt, updatedAt);
+	}
+
+	private void assertSameBytes(List<Task> tasks) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		TaskJsonWriter.write(tasks, out);
+		assertArrayEquals(objectMapper.writeValueAsBytes(tasks), out.toByteArray(), () -> out.toString());
+	}
+
+	@Test
+	void escapesStringsLikeJackson() throws IOException {
+		LocalDateTime at = LocalDateTime.of(2026, 3, 2, 9, 0, 1, 5_000_000);
+		assertSameBytes(List.of(
+				task("plain", "desc", false, at, at),
+				task("quote \" back \\ slash / <b>&amp;'", null, true, at, at),
+				task("control \n\t\r\b\f \u0000\u0001\u001f\u007f", "", false, at, at),
+				task("ünïcödé € ¥ ߿ࠀ￿", "emoji 😀 and a lone \uD800 half", true, at, at),
+				new Task(null, null, null, false, null, null, null)));
+	}
+
+	@Test
+	void formatsTimestampsLikeIsoLocalDateTime() throws IOException {
+		List<Task> tasks = new ArrayList<>();
+		int[] nanos = {0, 1, 10, 100_000, 120_000_000, 123_456_789, 999_999_999, 500_000_000};
+		LocalDateTime[] starts = {
+				LocalDateTime.of(2026, 10, 18, 0, 0), LocalDateTime.of(2026, 12, 31, 23, 59, 59),
+				LocalDateTime.of(999, 1, 1, 7, 5, 3), LocalDateTime.of(10000, 1, 1, 0, 0), LocalDateTime.of(-1, 6, 15, 12, 0)};
+		for (LocalDateTime start : starts) {
+			for (int nano : nanos) {
+				tasks.add(task("t", "d", false, start.withNano(nano), start.plusDays(1).withNano(nano)));
+			}
+		}
+		assertSameBytes(tasks);
+	}
+
+	// Longer than the writer's buffer, with multi-byte characters straddling its boundaries
+	@Test
+	void writesListsLargerThanTheBuffer() throws IOException {
+		List<Task> tasks = new ArrayList<>();
+		LocalDateTime start = LocalDateTime.of(2026, 3, 2, 9, 0);
+		for (int i = 0; i < 500; i++) {
+			tasks.add(task("Task " + i + " é€😀".repeat(i % 7), "x".repeat(i % 13) + "\n",
+					i % 3 == 0, start.plusSeconds(i * 997L), start.plusNanos(i * 1_234_567L)));
+		}
+		assertSameBytes(tasks);
+		assertSameBytes(List.of());
+	}
+}
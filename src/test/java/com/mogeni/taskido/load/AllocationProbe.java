@@ -0,0 +1,77 @@
+package com.mogeni.taskido.load;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servlet filter that measures the bytes allocated by the request thread while it handles a
+ * request, keyed by the endpoint name the load harness sends in {@link #HEADER}. Runs first, so
+ * security, MVC and serialization are all included; work handed to async threads (streamed
+ * export bodies, SSE senders) is not.
+ */
+class AllocationProbe implements Filter {
+
+	static final String HEADER = "X-Load-Endpoint";
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private final Map<String, LongAdder> bytesByEndpoint = new ConcurrentHashMap<>();
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+		String endpoint = ((HttpServletRequest) request).getHeader(HEADER);
+		if (endpoint == null) {
+			chain.doFilter(request, response);
+			return;
+		}
+		long before = THREADS.getCurrentThreadAllocatedBytes();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+			bytesByEndpoint.computeIfAbsent(endpoint, name -> new LongAdder()).add(allocated);
+		}
+	}
+
+	long bytes(String endpoint) {
+		LongAdder bytes = bytesByEndpoint.get(endpoint);
+		return bytes != null ? bytes.sum() : 0L;
+	}
+
+	void reset() {
+		bytesByEndpoint.clear();
+	}
+
+	/**
+	 * Application source that installs the probe ahead of every other filter.
+	 */
+	static class Registration {
+
+		@Bean
+		AllocationProbe allocationProbe() {
+			return new AllocationProbe();
+		}
+
+		@Bean
+		FilterRegistrationBean<AllocationProbe> allocationProbeRegistration(AllocationProbe probe) {
+			FilterRegistrationBean<AllocationProbe> registration = new FilterRegistrationBean<>(probe);
+			registration.addUrlPatterns("/api/*");
+			registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+			return registration;
+		}
+	}
+}
@@ -0,0 +1,594 @@
+package com.mogeni.taskido.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mogeni.taskido.TaskidoApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the servlet application in-process on a random port and drives every TaskController and
+ * AuthController endpoint over HTTP with a weighted mix, then prints p50/p95/p99 latency,
+ * throughput and server-side allocation per endpoint. Storage is the embedded store, memory-only
+ * or with its write-ahead log in a temporary directory (no database needed either way), or a
+ * real MongoDB:
+ *
+ * <pre>
+ * mvn test -Dtest=EndpointLoadHarness -Dloadtest.backend=memory
+ * mvn test -Dtest=EndpointLoadHarness -Dloadtest.backend=embedded
+ * mvn test -Dtest=EndpointLoadHarness -Dloadtest.backend=mongo -Dloadtest.mongo.uri=mongodb://localhost:27017/taskido_load
+ * </pre>
+ *
+ * Optional: {@code loadtest.users} concurrent users, each with its own account and thread
+ * (default 32), {@code loadtest.duration} and {@code loadtest.warmup} in seconds (default 30
+ * and 10), {@code loadtest.tasks} seeded per user (default 200, at least 10), and
+ * {@code loadtest.mix} as comma-separated endpoint=weight overrides of the default weights,
+ * e.g. {@code list=40,stream=0}.
+ * Allocation is what the request thread allocates between entering and leaving the filter
+ * chain (see {@link AllocationProbe}); the process total also includes the load generator.
+ */
+@EnabledIfSystemProperty(named = "loadtest.backend", matches = "memory|embedded|mongo")
+class EndpointLoadHarness {
+
+	private static final String[] WORDS = {"report", "review", "deploy", "invoice", "meeting", "email", "plan", "budget", "release", "backup"};
+
+	private static final ObjectMapper mapper = new ObjectMapper();
+	private static final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	private static ConfigurableApplicationContext context;
+	private static String baseUrl;
+
+	@BeforeAll
+	static void start() throws IOException {
+		String backend = System.getProperty("loadtest.backend");
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("server.port", 0);
+		properties.put("tasks.index-report.enabled", false);
+		properties.put("tasks.summary.reconcile.enabled", false);
+		// Detects streams the harness has hung up on well within a run, freeing the per-user slots
+		properties.put("tasks.stream.heartbeat", 1000);
+		properties.put("logging.level.root", "WARN");
+		if ("memory".equals(backend) || "embedded".equals(backend)) {
+			properties.put("spring.profiles.active", "embedded");
+			properties.put("tasks.storage.embedded.dir", "memory".equals(backend)
+					? "" : Files.createTempDirectory("taskido-load").toAbsolutePath());
+		} else {
+			String uri = System.getProperty("loadtest.mongo.uri");
+			assertTrue(uri != null && !uri.isBlank(), "loadtest.mongo.uri is required for the mongo backend");
+			properties.put("spring.data.mongodb.uri", uri);
+		}
+		// As arguments, so they take precedence over application.yml
+		String[] args = properties.entrySet().stream()
+				.map(property -> "--" + property.getKey() + "=" + property.getValue())
+				.toArray(String[]::new);
+		context = new SpringApplicationBuilder(TaskidoApplication.class, AllocationProbe.Registration.class).run(args);
+		int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+		baseUrl = "http://localhost:" + port;
+	}
+
+	@AfterAll
+	static void stop() {
+		if (context != null) {
+			context.close();
+		}
+	}
+
+	@Test
+	void driveAllEndpoints() throws Exception {
+		int users = Integer.getInteger("loadtest.users", 32);
+		int warmup = Integer.getInteger("loadtest.warmup", 10);
+		int duration = Integer.getInteger("loadtest.duration", 30);
+		int tasks = Integer.getInteger("loadtest.tasks", 200);
+		Endpoint[] mix = mix(System.getProperty("loadtest.mix", ""));
+
+		List<Session> sessions = new ArrayList<>();
+		for (int i = 0; i < users; i++) {
+			sessions.add(seed(tasks, i));
+		}
+
+		AllocationProbe probe = context.getBean(AllocationProbe.class);
+		ExecutorService workers = Executors.newFixedThreadPool(users);
+		try {
+			drive(workers, sessions, mix, warmup);
+			probe.reset();
+			long processBefore = processAllocatedBytes();
+			long started = System.nanoTime();
+			Map<Endpoint, Samples> samples = drive(workers, sessions, mix, duration);
+			long elapsed = System.nanoTime() - started;
+			long processBytes = processAllocatedBytes() - processBefore;
+			report(System.getProperty("loadtest.backend"), users, samples, probe, elapsed, processBytes);
+
+			long requests = samples.values().stream().mapToLong(s -> s.count).sum();
+			long errors = samples.values().stream().mapToLong(s -> s.errors).sum();
+			assertTrue(errors < requests * 0.01, errors + " of " + requests + " requests failed");
+		} finally {
+			workers.shutdownNow();
+		}
+	}
+
+	/**
+	 * Every endpoint, with its default share of the mix. Writes keep each user's pool of known
+	 * task ids current, so reads and updates target tasks that exist.
+	 */
+	enum Endpoint {
+		SIGNIN(2) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return post("/api/auth/signin", "{\"username\":\"" + session.username + "\",\"password\":\"" + session.password + "\"}");
+			}
+		},
+		SIGNUP(1) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return post("/api/auth/signup", signUpBody("load" + UUID.randomUUID().toString().substring(0, 12)));
+			}
+		},
+		LIST(20) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return get("/api/tasks?size=50");
+			}
+
+			@Override
+			void completed(Session session, HttpResponse<String> response) {
+				response.headers().firstValue("ETag").ifPresent(etag -> session.etag = etag);
+			}
+		},
+		LIST_REVALIDATE(6) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				HttpRequest.Builder builder = get("/api/tasks?size=50");
+				if (session.etag != null) {
+					builder.header("If-None-Match", session.etag);
+				}
+				return builder;
+			}
+
+			@Override
+			void completed(Session session, HttpResponse<String> response) {
+				response.headers().firstValue("ETag").ifPresent(etag -> session.etag = etag);
+			}
+		},
+		LIST_UNPAGED(3) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return get("/api/tasks?unpaged=true");
+			}
+		},
+		LIST_SUMMARY_VIEW(3) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return get("/api/tasks?size=50&view=summary");
+			}
+		},
+		STATUS(5) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return get("/api/tasks/status/" + session.random.nextBoolean());
+			}
+		},
+		GET(8) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return get("/api/tasks/" + session.anyTask());
+			}
+		},
+		SEARCH(4) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return get("/api/tasks/search?q=" + session.word());
+			}
+		},
+		SUGGEST(4) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return get("/api/tasks/suggest?prefix=" + session.word().substring(0, 2));
+			}
+		},
+		SUMMARY(4) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return get("/api/tasks/summary");
+			}
+		},
+		STATS(2) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return get("/api/tasks/stats?period=" + (session.random.nextBoolean() ? "day" : "week"));
+			}
+		},
+		CHANGES(4) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return get("/api/tasks/changes?size=100" + (session.checkpoint != null
+						? "&since=" + URLEncoder.encode(session.checkpoint, StandardCharsets.UTF_8) : ""));
+			}
+
+			@Override
+			void completed(Session session, HttpResponse<String> response) throws Exception {
+				JsonNode next = mapper.readTree(response.body()).get("next");
+				if (next != null && !next.isNull()) {
+					session.checkpoint = next.asText();
+				}
+			}
+		},
+		EXPORT(1) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return get("/api/tasks/export");
+			}
+		},
+		STREAM(1) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return get("/api/tasks/stream").header("Accept", "text/event-stream");
+			}
+		},
+		CREATE(8) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return post("/api/tasks", session.taskBody());
+			}
+
+			@Override
+			void completed(Session session, HttpResponse<String> response) throws Exception {
+				session.taskIds.add(mapper.readTree(response.body()).get("id").asText());
+			}
+		},
+		UPDATE(4) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return authorized("/api/tasks/" + session.anyTask())
+						.header("Content-Type", "application/json")
+						.PUT(HttpRequest.BodyPublishers.ofString(session.taskBody()));
+			}
+		},
+		PATCH(4) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return authorized("/api/tasks/" + session.anyTask())
+						.header("Content-Type", "application/merge-patch+json")
+						.method("PATCH", HttpRequest.BodyPublishers.ofString("{\"completed\":" + session.random.nextBoolean() + "}"));
+			}
+		},
+		TOGGLE(4) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				return authorized("/api/tasks/" + session.anyTask() + "/toggle")
+						.method("PATCH", HttpRequest.BodyPublishers.noBody());
+			}
+		},
+		DELETE(3) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				// Creates outweigh deletes in the default mix, so the pool of targets never runs dry
+				String id = session.taskIds.remove(session.random.nextInt(session.taskIds.size()));
+				return authorized("/api/tasks/" + id).DELETE();
+			}
+		},
+		BATCH(2) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				StringBuilder body = new StringBuilder("{\"ordered\":false,\"operations\":[");
+				for (int i = 0; i < 5; i++) {
+					body.append("{\"op\":\"CREATE\",\"task\":").append(session.taskBody()).append("},");
+					body.append("{\"op\":\"TOGGLE\",\"id\":\"").append(session.anyTask()).append("\"},");
+				}
+				body.setLength(body.length() - 1);
+				return post("/api/tasks/batch", body.append("]}").toString());
+			}
+
+			@Override
+			void completed(Session session, HttpResponse<String> response) throws Exception {
+				for (JsonNode result : mapper.readTree(response.body())) {
+					if (result.path("status").asInt() == 201) {
+						session.taskIds.add(result.get("id").asText());
+					}
+				}
+			}
+		},
+		IMPORT(1) {
+			@Override
+			HttpRequest.Builder request(Session session) {
+				StringBuilder body = new StringBuilder();
+				for (int i = 0; i < 20; i++) {
+					body.append(session.taskBody()).append('\n');
+				}
+				return authorized("/api/tasks/import")
+						.header("Content-Type", "application/x-ndjson")
+						.POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+			}
+		};
+
+		final int defaultWeight;
+
+		Endpoint(int defaultWeight) {
+			this.defaultWeight = defaultWeight;
+		}
+
+		abstract HttpRequest.Builder request(Session session);
+
+		/**
+		 * Updates the session from a successful response.
+		 */
+		void completed(Session session, HttpResponse<String> response) throws Exception {
+		}
+
+		// Each request carries the current user's token through this thread-local hand-off
+		private static final ThreadLocal<Session> current = new ThreadLocal<>();
+
+		HttpRequest.Builder authorized(String path) {
+			return HttpRequest.newBuilder(URI.create(baseUrl + path))
+					.timeout(Duration.ofSeconds(30))
+					.header("Authorization", "Bearer " + current.get().token)
+					.header(AllocationProbe.HEADER, name());
+		}
+
+		HttpRequest.Builder get(String path) {
+			return authorized(path).GET();
+		}
+
+		HttpRequest.Builder post(String path, String json) {
+			HttpRequest.Builder builder = path.startsWith("/api/auth/")
+					? HttpRequest.newBuilder(URI.create(baseUrl + path))
+							.timeout(Duration.ofSeconds(30))
+							.header(AllocationProbe.HEADER, name())
+					: authorized(path);
+			return builder.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(json));
+		}
+	}
+
+	/**
+	 * One simulated user: an account, its token and the ids of the tasks it knows about. Only
+	 * ever used by one worker thread at a time.
+	 */
+	static class Session {
+		final String username;
+		final String password = "secret123";
+		final Random random;
+		final List<String> taskIds = new ArrayList<>();
+		String token;
+		String etag;
+		String checkpoint;
+
+		Session(String username, long seed) {
+			this.username = username;
+			this.random = new Random(seed);
+		}
+
+		String anyTask() {
+			return taskIds.get(random.nextInt(taskIds.size()));
+		}
+
+		String word() {
+			return WORDS[random.nextInt(WORDS.length)];
+		}
+
+		String taskBody() {
+			return "{\"name\":\"" + word() + " " + word() + " " + random.nextInt(10_000)
+					+ "\",\"description\":\"" + word() + " for the " + word() + " load run\",\"completed\":" + (random.nextInt(4) == 0) + "}";
+		}
+	}
+
+	/**
+	 * Latencies of one endpoint, appended by a single worker and merged afterwards.
+	 */
+	static class Samples {
+		long[] nanos = new long[1024];
+		int count;
+		long errors;
+
+		void add(long latency) {
+			if (count == nanos.length) {
+				nanos = Arrays.copyOf(nanos, count * 2);
+			}
+			nanos[count++] = latency;
+		}
+
+		void addAll(Samples other) {
+			for (int i = 0; i < other.count; i++) {
+				add(other.nanos[i]);
+			}
+			errors += other.errors;
+		}
+
+		double percentileMs(double p) {
+			if (count == 0) {
+				return 0;
+			}
+			int index = (int) Math.min(count - 1, Math.ceil(p * count) - 1);
+			return nanos[Math.max(index, 0)] / 1_000_000.0;
+		}
+	}
+
+	private Session seed(int tasks, int index) throws Exception {
+		Session session = new Session("load" + UUID.randomUUID().toString().substring(0, 12), index);
+		HttpResponse<String> signedUp = client.send(
+				HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/signup"))
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString(signUpBody(session.username)))
+						.build(),
+				HttpResponse.BodyHandlers.ofString());
+		assertTrue(signedUp.statusCode() == 200, "signup failed: " + signedUp.statusCode() + " " + signedUp.body());
+		session.token = mapper.readTree(signedUp.body()).get("token").asText();
+
+		Endpoint.current.set(session);
+		StringBuilder body = new StringBuilder();
+		for (int i = 0; i < Math.max(tasks, 10); i++) {
+			body.append(session.taskBody()).append('\n');
+		}
+		client.send(Endpoint.IMPORT.authorized("/api/tasks/import")
+				.header("Content-Type", "application/x-ndjson")
+				.POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+				.build(), HttpResponse.BodyHandlers.ofString());
+		HttpResponse<String> ids = client.send(Endpoint.LIST.get("/api/tasks?unpaged=true&fields=id").build(),
+				HttpResponse.BodyHandlers.ofString());
+		for (JsonNode task : mapper.readTree(ids.body())) {
+			session.taskIds.add(task.get("id").asText());
+		}
+		Endpoint.current.remove();
+		return session;
+	}
+
+	private Map<Endpoint, Samples> drive(ExecutorService workers, List<Session> sessions, Endpoint[] mix, int seconds) throws Exception {
+		long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+		List<Callable<Map<Endpoint, Samples>>> loops = new ArrayList<>();
+		for (Session session : sessions) {
+			loops.add(() -> loop(session, mix, deadline));
+		}
+		Map<Endpoint, Samples> merged = new EnumMap<>(Endpoint.class);
+		for (Future<Map<Endpoint, Samples>> result : workers.invokeAll(loops)) {
+			result.get().forEach((endpoint, samples) -> merged.computeIfAbsent(endpoint, e -> new Samples()).addAll(samples));
+		}
+		return merged;
+	}
+
+	private Map<Endpoint, Samples> loop(Session session, Endpoint[] mix, long deadline) {
+		Map<Endpoint, Samples> samples = new EnumMap<>(Endpoint.class);
+		Endpoint.current.set(session);
+		try {
+			while (System.nanoTime() < deadline) {
+				Endpoint endpoint = mix[session.random.nextInt(mix.length)];
+				Samples own = samples.computeIfAbsent(endpoint, e -> new Samples());
+				long sent = System.nanoTime();
+				boolean ok;
+				try {
+					ok = call(endpoint, session);
+				} catch (Exception e) {
+					ok = false;
+				}
+				own.add(System.nanoTime() - sent);
+				if (!ok) {
+					own.errors++;
+				}
+			}
+		} finally {
+			Endpoint.current.remove();
+		}
+		return samples;
+	}
+
+	private boolean call(Endpoint endpoint, Session session) throws Exception {
+		HttpRequest request = endpoint.request(session).build();
+		if (endpoint == Endpoint.STREAM) {
+			// Time to the first frame; hanging up afterwards is what real clients do on navigation
+			HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+			try (BufferedReader events = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+				return response.statusCode() == 200 && events.readLine() != null;
+			}
+		}
+		HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+		int status = response.statusCode();
+		if (status >= 200 && status < 300) {
+			endpoint.completed(session, response);
+			return true;
+		}
+		return status == 304;
+	}
+
+	private static Endpoint[] mix(String overrides) {
+		Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+		for (Endpoint endpoint : Endpoint.values()) {
+			weights.put(endpoint, endpoint.defaultWeight);
+		}
+		for (String entry : overrides.split(",")) {
+			if (entry.isBlank()) {
+				continue;
+			}
+			String[] pair = entry.trim().split("=");
+			weights.put(Endpoint.valueOf(pair[0].trim().toUpperCase(Locale.ROOT).replace('-', '_')), Integer.parseInt(pair[1].trim()));
+		}
+		List<Endpoint> slots = new ArrayList<>();
+		weights.forEach((endpoint, weight) -> {
+			for (int i = 0; i < weight; i++) {
+				slots.add(endpoint);
+			}
+		});
+		assertTrue(!slots.isEmpty(), "the mix has no endpoint with a positive weight");
+		return slots.toArray(new Endpoint[0]);
+	}
+
+	private static String signUpBody(String username) {
+		return "{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\",\"password\":\"secret123\"}";
+	}
+
+	// Sum over live threads; threads that ended during the run are not counted
+	private static long processAllocatedBytes() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long total = 0;
+		for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+			if (bytes > 0) {
+				total += bytes;
+			}
+		}
+		return total;
+	}
+
+	private static void report(String backend, int users, Map<Endpoint, Samples> samples, AllocationProbe probe, long elapsedNanos, long processBytes) {
+		double seconds = elapsedNanos / 1_000_000_000.0;
+		System.out.printf("%nbackend=%s users=%d duration=%.1fs%n", backend, users, seconds);
+		System.out.printf("%-18s %9s %7s %9s %9s %9s %9s %11s %9s%n",
+				"endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "KB/request", "MB/s");
+		long requests = 0;
+		long errors = 0;
+		long serverBytes = 0;
+		for (Map.Entry<Endpoint, Samples> entry : samples.entrySet()) {
+			Samples endpoint = entry.getValue();
+			Arrays.sort(endpoint.nanos, 0, endpoint.count);
+			long bytes = probe.bytes(entry.getKey().name());
+			requests += endpoint.count;
+			errors += endpoint.errors;
+			serverBytes += bytes;
+			System.out.printf("%-18s %9d %7d %9.0f %9.2f %9.2f %9.2f %11.1f %9.1f%n",
+					entry.getKey().name().toLowerCase(Locale.ROOT), endpoint.count, endpoint.errors, endpoint.count / seconds,
+					endpoint.percentileMs(0.50), endpoint.percentileMs(0.95), endpoint.percentileMs(0.99),
+					bytes / 1024.0 / Math.max(endpoint.count, 1), bytes / 1_048_576.0 / seconds);
+		}
+		Samples all = new Samples();
+		samples.values().forEach(all::addAll);
+		Arrays.sort(all.nanos, 0, all.count);
+		System.out.printf("%-18s %9d %7d %9.0f %9.2f %9.2f %9.2f %11.1f %9.1f%n",
+				"total", requests, errors, requests / seconds,
+				all.percentileMs(0.50), all.percentileMs(0.95), all.percentileMs(0.99),
+				serverBytes / 1024.0 / Math.max(requests, 1), serverBytes / 1_048_576.0 / seconds);
+		System.out.printf("process allocation rate (incl. load generator): %.1f MB/s%n", processBytes / 1_048_576.0 / seconds);
+	}
+}
@@ -0,0 +1,144 @@
+package com.mogeni.taskido.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the same workload against a servlet-mode and a reactive-mode instance and prints latency
+ * percentiles and throughput for each. Both instances must already be running against the same
+ * MongoDB, e.g.
+ *
+ * <pre>
+ * java -jar target/taskido-1.0.0.jar --server.port=8080
+ * java -jar target/taskido-1.0.0.jar --server.port=8081 --spring.profiles.active=reactive
+ * mvn test -Dtest=ServletVsReactiveLoadTest \
+ *     -Dloadtest.servlet.url=http://localhost:8080 -Dloadtest.reactive.url=http://localhost:8081
+ * </pre>
+ *
+ * Optional: {@code loadtest.requests} (default 20000), {@code loadtest.concurrency} (default 256),
+ * {@code loadtest.tasks} seeded per user (default 200).
+ */
+@EnabledIfSystemProperty(named = "loadtest.servlet.url", matches = ".+")
+@EnabledIfSystemProperty(named = "loadtest.reactive.url", matches = ".+")
+class ServletVsReactiveLoadTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final HttpClient client = HttpClient.newBuilder()
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	@Test
+	void compareThroughputAndLatency() throws Exception {
+		int requests = Integer.getInteger("loadtest.requests", 20_000);
+		int concurrency = Integer.getInteger("loadtest.concurrency", 256);
+		int tasks = Integer.getInteger("loadtest.tasks", 200);
+
+		Result servlet = run("servlet", System.getProperty("loadtest.servlet.url"), requests, concurrency, tasks);
+		Result reactive = run("reactive", System.getProperty("loadtest.reactive.url"), requests, concurrency, tasks);
+
+		System.out.println(Result.HEADER);
+		System.out.println(servlet);
+		System.out.println(reactive);
+		assertTrue(servlet.errorRate() < 0.01, "servlet error rate " + servlet.errorRate());
+		assertTrue(reactive.errorRate() < 0.01, "reactive error rate " + reactive.errorRate());
+	}
+
+	private Result run(String mode, String baseUrl, int requests, int concurrency, int tasks) throws Exception {
+		String token = signUp(baseUrl);
+		for (int i = 0; i < tasks; i++) {
+			send(baseUrl + "/api/tasks", token, "POST", "{\"name\":\"load task " + i + "\",\"description\":\"seeded\"}").join();
+		}
+
+		// Warm up JIT and connection pools before measuring
+		drive("warmup", baseUrl, token, Math.min(requests, 2_000), concurrency);
+		return drive(mode, baseUrl, token, requests, concurrency);
+	}
+
+	private Result drive(String mode, String baseUrl, String token, int requests, int concurrency) throws InterruptedException {
+		Semaphore inFlight = new Semaphore(concurrency);
+		long[] latencies = new long[requests];
+		AtomicInteger errors = new AtomicInteger();
+		List<CompletableFuture<?>> futures = new ArrayList<>(requests);
+		long start = System.nanoTime();
+		for (int i = 0; i < requests; i++) {
+			inFlight.acquire();
+			int slot = i;
+			long sent = System.nanoTime();
+			// Mix: mostly page reads, with some unpaged lists and status filters
+			String path = switch (i % 10) {
+				case 0 -> "/api/tasks?unpaged=true";
+				case 1, 2 -> "/api/tasks/status/false";
+				default -> "/api/tasks?size=50";
+			};
+			futures.add(send(baseUrl + path, token, "GET", null).whenComplete((response, failure) -> {
+				latencies[slot] = System.nanoTime() - sent;
+				if (failure != null || response.statusCode() != 200) {
+					errors.incrementAndGet();
+				}
+				inFlight.release();
+			}));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+		long elapsed = System.nanoTime() - start;
+		Arrays.sort(latencies);
+		return new Result(mode, requests, errors.get(), elapsed, latencies);
+	}
+
+	private String signUp(String baseUrl) throws Exception {
+		String username = "load" + UUID.randomUUID().toString().substring(0, 8);
+		String body = "{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\",\"password\":\"secret123\"}";
+		HttpResponse<String> response = send(baseUrl + "/api/auth/signup", null, "POST", body).join();
+		JsonNode json = mapper.readTree(response.body());
+		return json.get("token").asText();
+	}
+
+	private CompletableFuture<HttpResponse<String>> send(String url, String token, String method, String body) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+				.timeout(Duration.ofSeconds(30))
+				.header("Content-Type", "application/json")
+				.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+		if (token != null) {
+			builder.header("Authorization", "Bearer " + token);
+		}
+		return client.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private record Result(String mode, int requests, int errors, long elapsedNanos, long[] sortedLatencies) {
+
+		static final String HEADER = String.format("%-9s %10s %8s %10s %10s %10s", "mode", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms");
+
+		double errorRate() {
+			return (double) errors / requests;
+		}
+
+		double percentileMs(double p) {
+			int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(p * sortedLatencies.length) - 1);
+			return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-9s %10.0f %8d %10.2f %10.2f %10.2f", mode,
+					requests / (elapsedNanos / 1_000_000_000.0), errors,
+					percentileMs(0.50), percentileMs(0.95), percentileMs(0.99));
+		}
+	}
+
+}
@@ -0,0 +1,247 @@
+package com.mogeni.taskido.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mogeni.taskido.TaskidoApplication;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Boots the servlet application in-process twice, with {@code spring.threads.virtual.enabled}
+ * off (Tomcat's 200-thread platform pool) and then on (one virtual thread per request), and drives
+ * both with the same request mix over HTTP from many concurrent clients. Prints throughput,
+ * latency percentiles, peak platform threads and peak heap for each. Storage is the memory-only
+ * embedded store or a real MongoDB, as for {@link EndpointLoadHarness}; needs a Java 21 runtime:
+ *
+ * <pre>
+ * JAVA_HOME=/path/to/jdk21 mvn -Pjava21 test -Dtest=VirtualThreadThroughputBenchmark -Dbenchmark.virtual-threads=true
+ * JAVA_HOME=/path/to/jdk21 mvn -Pjava21 test -Dtest=VirtualThreadThroughputBenchmark -Dbenchmark.virtual-threads=true \
+ *     -Dloadtest.backend=mongo -Dloadtest.mongo.uri=mongodb://localhost:27017/taskido_load
+ * </pre>
+ *
+ * Optional: {@code benchmark.requests} (default 50000), {@code benchmark.concurrency} outstanding
+ * requests (default 2000), {@code loadtest.tasks} seeded (default 200), and
+ * {@code benchmark.latency-ms}, a blocking sleep added to every request that stands in for the
+ * MongoDB round trip the embedded store does not make (default 20 without MongoDB, 0 with it).
+ * Both instances share this JVM with the load generator, so heap figures include the client;
+ * virtual thread stacks live on the heap, platform thread stacks in native memory and show up in
+ * the thread count instead.
+ */
+@EnabledIfSystemProperty(named = "benchmark.virtual-threads", matches = "true")
+class VirtualThreadThroughputBenchmark {
+
+	private static final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	void platformPoolVersusVirtualThreads() throws Exception {
+		assumeTrue(Runtime.version().feature() >= 21, "virtual threads need a Java 21 runtime");
+
+		int requests = Integer.getInteger("benchmark.requests", 50_000);
+		int concurrency = Integer.getInteger("benchmark.concurrency", 2_000);
+		int tasks = Integer.getInteger("loadtest.tasks", 200);
+		boolean mongo = "mongo".equals(System.getProperty("loadtest.backend"));
+		long latencyMs = Long.getLong("benchmark.latency-ms", mongo ? 0 : 20);
+
+		Result platform = run(false, requests, concurrency, tasks, latencyMs);
+		Result virtual = run(true, requests, concurrency, tasks, latencyMs);
+
+		System.out.printf("%nrequests=%d concurrency=%d latency=%dms backend=%s%n", requests, concurrency, latencyMs, mongo ? "mongo" : "memory");
+		System.out.println(Result.HEADER);
+		System.out.println(platform);
+		System.out.println(virtual);
+		assertTrue(platform.errors < requests * 0.01, "platform: " + platform.errors + " of " + requests + " requests failed");
+		assertTrue(virtual.errors < requests * 0.01, "virtual: " + virtual.errors + " of " + requests + " requests failed");
+	}
+
+	private Result run(boolean virtualThreads, int requests, int concurrency, int tasks, long latencyMs) throws Exception {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("server.port", 0);
+		properties.put("spring.threads.virtual.enabled", virtualThreads);
+		properties.put("tasks.index-report.enabled", false);
+		properties.put("tasks.summary.reconcile.enabled", false);
+		properties.put("logging.level.root", "WARN");
+		properties.put("benchmark.latency-ms", latencyMs);
+		if ("mongo".equals(System.getProperty("loadtest.backend"))) {
+			String uri = System.getProperty("loadtest.mongo.uri");
+			assertTrue(uri != null && !uri.isBlank(), "loadtest.mongo.uri is required for the mongo backend");
+			properties.put("spring.data.mongodb.uri", uri);
+		} else {
+			properties.put("spring.profiles.active", "embedded");
+			properties.put("tasks.storage.embedded.dir", "");
+		}
+		// As arguments, so they take precedence over application.yml
+		String[] args = properties.entrySet().stream()
+				.map(property -> "--" + property.getKey() + "=" + property.getValue())
+				.toArray(String[]::new);
+
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskidoApplication.class, SimulatedLatency.class).run(args)) {
+			String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+			HttpClient client = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.connectTimeout(Duration.ofSeconds(5))
+					.build();
+			String token = seed(client, baseUrl, tasks);
+			List<String> ids = new ArrayList<>();
+			for (JsonNode task : mapper.readTree(send(client, baseUrl + "/api/tasks?unpaged=true&fields=id", token, "GET", null).join().body())) {
+				ids.add(task.get("id").asText());
+			}
+
+			// Warm up JIT, connections and, on the platform side, the Tomcat pool before measuring
+			drive(virtualThreads, client, baseUrl, token, ids, Math.max(requests / 10, 1), concurrency);
+			return drive(virtualThreads, client, baseUrl, token, ids, requests, concurrency);
+		}
+	}
+
+	private Result drive(boolean virtualThreads, HttpClient client, String baseUrl, String token, List<String> ids,
+						 int requests, int concurrency) throws InterruptedException {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		System.gc();
+		threads.resetPeakThreadCount();
+		AtomicLong peakHeap = new AtomicLong();
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+				0, 50, TimeUnit.MILLISECONDS);
+
+		// Clients keep `concurrency` requests outstanding, like a load generator would
+		Semaphore outstanding = new Semaphore(concurrency);
+		long[] latencies = new long[requests];
+		AtomicInteger errors = new AtomicInteger();
+		List<CompletableFuture<?>> futures = new ArrayList<>(requests);
+		long start = System.nanoTime();
+		for (int i = 0; i < requests; i++) {
+			outstanding.acquire();
+			int slot = i;
+			long sent = System.nanoTime();
+			// Mix: mostly page reads, then single tasks, status filters, counters and creates
+			CompletableFuture<HttpResponse<String>> response = switch (i % 10) {
+				case 0, 1, 2, 3 -> send(client, baseUrl + "/api/tasks?size=50", token, "GET", null);
+				case 4, 5 -> send(client, baseUrl + "/api/tasks/" + ids.get(i % ids.size()), token, "GET", null);
+				case 6 -> send(client, baseUrl + "/api/tasks/status/false", token, "GET", null);
+				case 7 -> send(client, baseUrl + "/api/tasks/summary", token, "GET", null);
+				default -> send(client, baseUrl + "/api/tasks", token, "POST", "{\"name\":\"bench task " + i + "\",\"description\":\"created under load\"}");
+			};
+			futures.add(response.whenComplete((result, failure) -> {
+				latencies[slot] = System.nanoTime() - sent;
+				if (failure != null || result.statusCode() >= 300) {
+					errors.incrementAndGet();
+				}
+				outstanding.release();
+			}));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+		long elapsed = System.nanoTime() - start;
+		sampler.shutdownNow();
+		Arrays.sort(latencies);
+		return new Result(virtualThreads ? "virtual" : "platform", requests, errors.get(), elapsed, latencies,
+				threads.getPeakThreadCount(), peakHeap.get());
+	}
+
+	private String seed(HttpClient client, String baseUrl, int tasks) throws Exception {
+		String username = "bench" + UUID.randomUUID().toString().substring(0, 12);
+		String body = "{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\",\"password\":\"secret123\"}";
+		HttpResponse<String> signedUp = send(client, baseUrl + "/api/auth/signup", null, "POST", body).join();
+		assertTrue(signedUp.statusCode() == 200, "signup failed: " + signedUp.statusCode() + " " + signedUp.body());
+		String token = mapper.readTree(signedUp.body()).get("token").asText();
+
+		StringBuilder lines = new StringBuilder();
+		for (int i = 0; i < Math.max(tasks, 1); i++) {
+			lines.append("{\"name\":\"seeded task ").append(i).append("\",\"description\":\"seeded\"}\n");
+		}
+		HttpRequest imported = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/import"))
+				.header("Authorization", "Bearer " + token)
+				.header("Content-Type", "application/x-ndjson")
+				.POST(HttpRequest.BodyPublishers.ofString(lines.toString()))
+				.build();
+		client.send(imported, HttpResponse.BodyHandlers.ofString());
+		return token;
+	}
+
+	private static CompletableFuture<HttpResponse<String>> send(HttpClient client, String url, String token, String method, String body) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+				.timeout(Duration.ofSeconds(60))
+				.header("Content-Type", "application/json")
+				.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+		if (token != null) {
+			builder.header("Authorization", "Bearer " + token);
+		}
+		return client.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private record Result(String mode, int requests, int errors, long elapsedNanos, long[] latencies,
+						  int peakThreads, long peakHeapBytes) {
+
+		static final String HEADER = String.format("%-9s %10s %7s %9s %9s %9s %12s %14s",
+				"mode", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "peak threads", "peak heap MB");
+
+		double percentileMs(double p) {
+			int index = (int) Math.min(latencies.length - 1, Math.ceil(p * latencies.length) - 1);
+			return latencies[Math.max(index, 0)] / 1_000_000.0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-9s %10.0f %7d %9.1f %9.1f %9.1f %12d %14.1f", mode,
+					requests / (elapsedNanos / 1_000_000_000.0), errors,
+					percentileMs(0.50), percentileMs(0.95), percentileMs(0.99),
+					peakThreads, peakHeapBytes / (1024.0 * 1024.0));
+		}
+	}
+
+	/**
+	 * Application source that makes every API request block for {@code benchmark.latency-ms}
+	 * on the thread serving it, before the rest of the filter chain runs.
+	 */
+	static class SimulatedLatency {
+
+		@Bean
+		FilterRegistrationBean<Filter> simulatedLatency(@Value("${benchmark.latency-ms:0}") long latencyMs) {
+			FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+				if (latencyMs > 0) {
+					try {
+						Thread.sleep(latencyMs);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				chain.doFilter(request, response);
+			});
+			registration.addUrlPatterns("/api/*");
+			registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+			return registration;
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.mogeni.taskido.repository;
+
+import com.mogeni.taskido.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskCursorTest {
+
+	@Test
+	void roundTripsCreatedAtAndId() {
+		LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000);
+		TaskCursor decoded = TaskCursor.decode(new TaskCursor(createdAt, "6650c0ffee0000000000abcd").encode());
+
+		assertEquals(createdAt, decoded.getCreatedAt());
+		assertEquals("6650c0ffee0000000000abcd", decoded.getId());
+	}
+
+	@Test
+	void rejectsGarbage() {
+		assertThrows(BadRequestException.class, () -> TaskCursor.decode("not-a-cursor"));
+		assertThrows(BadRequestException.class, () -> TaskCursor.decode("!!!"));
+	}
+
+}
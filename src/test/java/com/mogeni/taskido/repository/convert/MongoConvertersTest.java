@@ -0,0 +1,104 @@
+package com.mogeni.taskido.repository.convert;
+
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.model.User;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MongoConvertersTest {
+
+	private static final LocalDateTime CREATED = LocalDateTime.of(2026, 3, 2, 9, 15, 30, 123_000_000);
+	private static final LocalDateTime UPDATED = LocalDateTime.of(2026, 3, 3, 17, 0, 1, 456_000_000);
+
+	private final MappingMongoConverter reflective = converter(new MongoCustomConversions(List.of()));
+	private final MappingMongoConverter handWritten = converter(new MongoCustomConversions(List.of(
+			new TaskReadConverter(), new TaskWriteConverter(), new UserReadConverter(), new UserWriteConverter())));
+
+	static MappingMongoConverter converter(MongoCustomConversions conversions) {
+		MongoMappingContext context = new MongoMappingContext();
+		context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		context.afterPropertiesSet();
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		return converter;
+	}
+
+	private static Task task() {
+		return new Task(new ObjectId().toHexString(), "Write report", "Quarterly numbers", true,
+				new ObjectId().toHexString(), CREATED, UPDATED);
+	}
+
+	@Test
+	void writesTasksAndUsersInTheReflectiveLayout() {
+		Task task = task();
+		Document expected = new Document();
+		reflective.write(task, expected);
+		expected.remove("_class");
+		Document actual = new Document();
+		handWritten.write(task, actual);
+		assertEquals(expected, actual);
+
+		User user = new User(new ObjectId().toHexString(), "alice", "alice@example.com", "hash", Set.of("USER", "ADMIN"), CREATED, UPDATED);
+		Document expectedUser = new Document();
+		reflective.write(user, expectedUser);
+		expectedUser.remove("_class");
+		Document actualUser = new Document();
+		handWritten.write(user, actualUser);
+		assertEquals(expectedUser.keySet(), actualUser.keySet());
+		assertEquals(Set.copyOf((List<?>) expectedUser.get("roles")), Set.copyOf((List<?>) actualUser.get("roles")));
+		actualUser.remove("roles");
+		expectedUser.remove("roles");
+		assertEquals(expectedUser, actualUser);
+	}
+
+	@Test
+	void readsDocumentsWrittenByTheReflectiveMapping() {
+		Task original = task();
+		Document stored = new Document();
+		reflective.write(original, stored);
+
+		Task read = handWritten.read(Task.class, stored);
+
+		assertEquals(original.getId(), read.getId());
+		assertEquals(original.getName(), read.getName());
+		assertEquals(original.getDescription(), read.getDescription());
+		assertEquals(original.isCompleted(), read.isCompleted());
+		assertEquals(original.getUserId(), read.getUserId());
+		assertEquals(CREATED, read.getCreatedAt());
+		assertEquals(UPDATED, read.getUpdatedAt());
+
+		User user = new User(new ObjectId().toHexString(), "alice", "alice@example.com", "hash", Set.of("USER"), CREATED, UPDATED);
+		Document storedUser = new Document();
+		reflective.write(user, storedUser);
+		User readUser = handWritten.read(User.class, storedUser);
+		assertEquals(user.getId(), readUser.getId());
+		assertEquals(Set.of("USER"), readUser.getRoles());
+		assertEquals(UPDATED, readUser.getUpdatedAt());
+	}
+
+	@Test
+	void leavesFieldsOutsideAProjectionUnset() {
+		ObjectId id = new ObjectId();
+		Task read = handWritten.read(Task.class, new Document("_id", id).append("name", "Only the name"));
+
+		assertEquals(id.toHexString(), read.getId());
+		assertEquals("Only the name", read.getName());
+		assertFalse(read.isCompleted());
+		assertNull(read.getCreatedAt());
+		assertNull(read.getUpdatedAt());
+	}
+}
@@ -0,0 +1,211 @@
+package com.mogeni.taskido.repository.embedded;
+
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.model.TaskTombstone;
+import com.mogeni.taskido.model.User;
+import com.mogeni.taskido.repository.TaskCursor;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmbeddedStoreTest {
+
+	private static final String USER_ID = "650000000000000000000001";
+	private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+	@TempDir
+	Path dir;
+
+	// Small segments, so the tests also cross segment boundaries
+	private EmbeddedStore open() throws IOException {
+		EmbeddedStore store = new EmbeddedStore();
+		ReflectionTestUtils.setField(store, "dir", dir.toString());
+		ReflectionTestUtils.setField(store, "fsyncInterval", Duration.ZERO);
+		ReflectionTestUtils.setField(store, "segmentSize", DataSize.ofKilobytes(4));
+		ReflectionTestUtils.setField(store, "snapshotAfter", DataSize.ofMegabytes(256));
+		ReflectionTestUtils.setField(store, "tombstoneRetention", Duration.ofDays(30));
+		store.open();
+		return store;
+	}
+
+	private static EmbeddedTaskRepository tasks(EmbeddedStore store) {
+		EmbeddedTaskRepository repository = new EmbeddedTaskRepository();
+		ReflectionTestUtils.setField(repository, "store", store);
+		return repository;
+	}
+
+	private static Task task(int i) {
+		Task task = new Task("Task " + i, "Description " + i, USER_ID);
+		task.setId(String.format("%024x", i));
+		task.setCreatedAt(START.plusMinutes(i));
+		task.setUpdatedAt(START.plusMinutes(i));
+		return task;
+	}
+
+	@Test
+	void replaysTheLogAfterACrash() throws IOException {
+		EmbeddedStore store = open();
+		EmbeddedTaskRepository repository = tasks(store);
+		for (int i = 0; i < 100; i++) {
+			repository.insert(task(i));
+		}
+		repository.toggleCompletedByIdAndUserId(task(7).getId(), USER_ID);
+		repository.removeByIdAndUserId(task(8).getId(), USER_ID);
+		store.tasks.put(new TaskTombstone(task(8).getId(), USER_ID, START.plusHours(3)));
+		User alice = new User("alice", "alice@example.com", "secret");
+		alice.setId(USER_ID);
+		store.users.put(alice, true);
+		store.incrementRollups(USER_ID, Map.of(USER_ID + "|day|2026-03-02", new Document("created", 2L).append("ttc.4", 1L)),
+				Map.of(USER_ID + "|day|2026-03-02", new String[]{"day", "2026-03-02"}));
+		// No close: the next open sees only what reached the log
+
+		EmbeddedStore reopened = open();
+		EmbeddedTaskRepository recovered = tasks(reopened);
+
+		assertEquals(99, reopened.summary(USER_ID).getTotal());
+		assertEquals(1, reopened.summary(USER_ID).getCompleted());
+		assertTrue(recovered.findByIdAndUserId(task(7).getId(), USER_ID).orElseThrow().isCompleted());
+		assertTrue(recovered.findByIdAndUserId(task(8).getId(), USER_ID).isEmpty());
+		assertEquals(1, recovered.findDeletedByUserId(USER_ID, null, START.plusDays(1), 10).size());
+		assertNotNull(reopened.users.idByUsername("alice"));
+		Document rollup = reopened.rollups(USER_ID, "day", LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 2)).get(0);
+		assertEquals(2L, rollup.getLong("created"));
+		assertEquals(1L, rollup.get("ttc", Document.class).getLong("4"));
+
+		List<Task> page = recovered.findPageByUserId(USER_ID, null, null, 3, null);
+		assertEquals(List.of(task(99).getId(), task(98).getId(), task(97).getId()), page.stream().map(Task::getId).toList());
+		assertEquals(START.plusMinutes(99), page.get(0).getCreatedAt());
+	}
+
+	@Test
+	void loadsTheSnapshotAndReplaysLaterWrites() throws IOException {
+		EmbeddedStore store = open();
+		EmbeddedTaskRepository repository = tasks(store);
+		for (int i = 0; i < 50; i++) {
+			repository.insert(task(i));
+		}
+		store.snapshot();
+		repository.toggleCompletedByIdAndUserId(task(1).getId(), USER_ID);
+		repository.removeByIdAndUserId(task(2).getId(), USER_ID);
+		repository.insert(task(50));
+
+		try (Stream<Path> files = Files.list(dir)) {
+			assertEquals(1, files.filter(file -> file.getFileName().toString().startsWith("snapshot-")).count());
+		}
+		EmbeddedStore reopened = open();
+		EmbeddedTaskRepository recovered = tasks(reopened);
+
+		assertEquals(50, reopened.summary(USER_ID).getTotal());
+		assertEquals(1, reopened.summary(USER_ID).getCompleted());
+		assertTrue(recovered.findByIdAndUserId(task(2).getId(), USER_ID).isEmpty());
+		assertTrue(recovered.findByIdAndUserId(task(50).getId(), USER_ID).isPresent());
+
+		// Keyset paging continues from a cursor exactly as before the restart
+		TaskCursor cursor = new TaskCursor(START.plusMinutes(4), task(4).getId());
+		assertEquals(List.of(task(3).getId(), task(1).getId(), task(0).getId()),
+				recovered.findPageByUserId(USER_ID, null, cursor, 10, null).stream().map(Task::getId).toList());
+		assertEquals(List.of(task(1).getId()),
+				recovered.findPageByUserId(USER_ID, true, null, 10, null).stream().map(Task::getId).toList());
+	}
+
+	@Test
+	void discardsATornRecordAtTheEndOfTheLog() throws IOException {
+		EmbeddedStore store = open();
+		EmbeddedTaskRepository repository = tasks(store);
+		for (int i = 0; i < 5; i++) {
+			repository.insert(task(i));
+		}
+
+		Path segment;
+		try (Stream<Path> files = Files.list(dir)) {
+			segment = files.filter(file -> file.getFileName().toString().startsWith("wal-")).sorted().reduce((a, b) -> b).orElseThrow();
+		}
+		// A record whose length landed but whose payload did not match its checksum
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+			int end = WriteAheadLog.readRecords(mapped.duplicate(), payload -> {
+			});
+			mapped.putInt(end, 40);
+			mapped.putInt(end + 4, 12345);
+			mapped.put(end + 8, (byte) 1);
+		}
+
+		EmbeddedStore reopened = open();
+		assertEquals(5, reopened.summary(USER_ID).getTotal());
+		tasks(reopened).insert(task(5));
+
+		EmbeddedStore again = open();
+		assertEquals(6, again.summary(USER_ID).getTotal());
+		assertFalse(tasks(again).findByIdAndUserId(task(5).getId(), USER_ID).isEmpty());
+	}
+
+	@Test
+	void sortsPagesAndMatchesExamplesLikeMongo() throws IOException {
+		EmbeddedTaskRepository repository = tasks(open());
+		for (int i = 0; i < 12; i++) {
+			Task task = task(i);
+			task.setCompleted(i % 3 == 0);
+			repository.insert(task);
+		}
+
+		assertEquals(List.of(task(11).getId(), task(10).getId()),
+				repository.findAll(PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "createdAt"))).map(Task::getId).getContent());
+		Page<Task> last = repository.findAll(PageRequest.of(2, 5, Sort.by("name")));
+		assertEquals(12, last.getTotalElements());
+		assertEquals(List.of(task(8).getId(), task(9).getId()), last.map(Task::getId).getContent());
+
+		Task probe = new Task(null, "task 1", null, true, USER_ID, null, null);
+		Example<Task> completed = Example.of(probe, ExampleMatcher.matching()
+				.withIgnorePaths("name")
+				.withIgnoreNullValues());
+		assertEquals(4, repository.count(completed));
+		Example<Task> named = Example.of(probe, ExampleMatcher.matching()
+				.withIgnorePaths("completed")
+				.withMatcher("name", match -> match.startsWith().ignoreCase()));
+		assertEquals(List.of(task(11).getId(), task(10).getId(), task(1).getId()),
+				repository.findAll(named, Sort.by(Sort.Direction.DESC, "createdAt")).stream().map(Task::getId).toList());
+		assertThrows(IncorrectResultSizeDataAccessException.class, () -> repository.findOne(named));
+		Task projected = repository.findBy(named, query -> query.sortBy(Sort.by("name")).project("name").firstValue());
+		assertEquals(task(1).getId(), projected.getId());
+		assertEquals("Task 1", projected.getName());
+		assertNull(projected.getDescription());
+		assertNull(projected.getCreatedAt());
+
+		Window<Task> first = repository.findBy(completed, query -> query.sortBy(Sort.by("createdAt")).limit(3).scroll(ScrollPosition.keyset()));
+		assertEquals(List.of(task(0).getId(), task(3).getId(), task(6).getId()), first.map(Task::getId).getContent());
+		assertTrue(first.hasNext());
+		Window<Task> next = repository.findBy(completed, query -> query.sortBy(Sort.by("createdAt")).limit(3).scroll(first.positionAt(2)));
+		assertEquals(List.of(task(9).getId()), next.map(Task::getId).getContent());
+		assertFalse(next.hasNext());
+	}
+}
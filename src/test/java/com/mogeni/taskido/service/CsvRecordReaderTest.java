@@ -0,0 +1,52 @@
+package com.mogeni.taskido.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvRecordReaderTest {
+
+	@Test
+	void readsQuotedFieldsAndTracksLines() throws IOException {
+		CsvRecordReader csv = new CsvRecordReader(new StringReader(
+				"name,description\r\nplain,one\n\n\"a, b\",\"say \"\"hi\"\"\nthere\"\nlast,\n"), 100);
+
+		assertEquals(List.of("name", "description"), csv.next());
+		assertEquals(1, csv.getRecordLine());
+		assertEquals(List.of("plain", "one"), csv.next());
+		assertEquals(2, csv.getRecordLine());
+		assertEquals(List.of("a, b", "say \"hi\"\nthere"), csv.next());
+		assertEquals(4, csv.getRecordLine());
+		assertEquals(List.of("last", ""), csv.next());
+		assertEquals(6, csv.getRecordLine());
+		assertNull(csv.next());
+	}
+
+	@Test
+	void rejectsUnterminatedQuote() {
+		CsvRecordReader csv = new CsvRecordReader(new StringReader("\"open,field\n"), 100);
+		assertThrows(IllegalArgumentException.class, csv::next);
+	}
+
+	@Test
+	void skipsRecordsOverTheLimit() throws IOException {
+		CsvRecordReader csv = new CsvRecordReader(new StringReader(
+				"name\n\"too,\nlong\",x\n,,,,,,,,,,\nok,1\n"), 8);
+
+		assertEquals(List.of("name"), csv.next());
+		assertThrows(IllegalArgumentException.class, csv::next);
+		assertEquals(2, csv.getRecordLine());
+		assertThrows(IllegalArgumentException.class, csv::next);
+		assertEquals(4, csv.getRecordLine());
+		assertEquals(List.of("ok", "1"), csv.next());
+		assertEquals(5, csv.getRecordLine());
+		assertNull(csv.next());
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.mogeni.taskido.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurationHistogramTest {
+
+	@Test
+	void binsBoundDurations() {
+		for (long millis : new long[]{0, 999, 1000, 1500, 60_000, 3_600_000, 86_400_000L * 30}) {
+			int bin = DurationHistogram.bin(millis);
+			assertTrue(DurationHistogram.lowerBound(bin) <= millis, "lower bound of " + millis);
+			assertTrue(millis < DurationHistogram.upperBound(bin), "upper bound of " + millis);
+		}
+	}
+
+	@Test
+	void estimatesMedianWithinABin() {
+		Map<Integer, Long> counts = new HashMap<>();
+		// One sample per minute from 1 to 99 minutes: the true median is 50 minutes
+		for (long minutes = 1; minutes <= 99; minutes++) {
+			counts.merge(DurationHistogram.bin(minutes * 60_000), 1L, Long::sum);
+		}
+		long median = DurationHistogram.median(counts);
+
+		assertTrue(Math.abs(median - 50 * 60_000) < 0.2 * 50 * 60_000, "median " + median);
+	}
+
+	@Test
+	void emptyHistogramHasNoMedian() {
+		assertNull(DurationHistogram.median(Map.of()));
+		assertEquals(0, DurationHistogram.bin(-5));
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.mogeni.taskido.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskListCacheTest {
+
+	private static TaskListCache cache(LocalTaskInvalidationChannel channel, long maxTasks) {
+		TaskListCache cache = new TaskListCache();
+		ReflectionTestUtils.setField(cache, "invalidationChannel", channel);
+		ReflectionTestUtils.setField(cache, "enabled", true);
+		ReflectionTestUtils.setField(cache, "maxWeight", maxTasks);
+		ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+		cache.init();
+		return cache;
+	}
+
+	@Test
+	void servesRepeatedReadsUntilInvalidated() {
+		TaskListCache cache = cache(new LocalTaskInvalidationChannel(), 100);
+		AtomicInteger loads = new AtomicInteger();
+
+		for (int i = 0; i < 3; i++) {
+			cache.get("u1", "all", () -> List.of("a", "b", "c" + loads.incrementAndGet()), List::size);
+		}
+		assertEquals(1, loads.get());
+		assertEquals(2, cache.getHits());
+
+		cache.invalidate("u1");
+		cache.get("u1", "all", () -> List.of("a" + loads.incrementAndGet()), List::size);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void invalidationReachesOtherNodes() {
+		LocalTaskInvalidationChannel channelA = new LocalTaskInvalidationChannel();
+		LocalTaskInvalidationChannel channelB = new LocalTaskInvalidationChannel();
+		channelA.connect(channelB);
+		TaskListCache nodeA = cache(channelA, 100);
+		TaskListCache nodeB = cache(channelB, 100);
+
+		nodeB.get("u1", "all", () -> List.of("a"), List::size);
+		nodeA.invalidate("u1");
+
+		assertEquals(0, nodeB.getUserCount());
+		assertEquals(1, nodeB.getInvalidations());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedUsersBeyondMaxTasks() {
+		TaskListCache cache = cache(new LocalTaskInvalidationChannel(), 10);
+
+		cache.get("u1", "all", () -> List.of(1, 2, 3, 4), List::size);
+		cache.get("u2", "all", () -> List.of(1, 2, 3, 4), List::size);
+		cache.get("u1", "all", () -> List.of(), List::size);
+		cache.get("u3", "all", () -> List.of(1, 2, 3), List::size);
+
+		assertEquals(2, cache.getUserCount());
+		assertEquals(1, cache.getEvictions());
+		assertEquals(9, cache.getWeight());
+	}
+
+	@Test
+	void doesNotCacheResultLoadedAcrossAnInvalidation() {
+		TaskListCache cache = cache(new LocalTaskInvalidationChannel(), 100);
+
+		cache.get("u1", "all", () -> {
+			cache.invalidate("u1");
+			return List.of("stale");
+		}, List::size);
+		List<String> reloaded = cache.get("u1", "all", () -> List.of("fresh"), List::size);
+
+		assertEquals(List.of("fresh"), reloaded);
+	}
+
+}
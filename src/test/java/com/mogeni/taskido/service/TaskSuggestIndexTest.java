@@ -0,0 +1,48 @@
+package com.mogeni.taskido.service;
+
+import com.mogeni.taskido.model.Task;
+import com.mogeni.taskido.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskSuggestIndexTest {
+
+	private static final String USER_ID = "650000000000000000000001";
+
+	private static Task task(String id, String name) {
+		Task task = new Task(name, null, USER_ID);
+		task.setId(id);
+		return task;
+	}
+
+	@Test
+	void keepsAWriteThatRacesTheFirstLoad() {
+		TaskRepository repository = mock(TaskRepository.class);
+		TaskSuggestIndex index = new TaskSuggestIndex();
+		ReflectionTestUtils.setField(index, "taskRepository", repository);
+		ReflectionTestUtils.setField(index, "invalidationChannel", new LocalTaskInvalidationChannel());
+		ReflectionTestUtils.setField(index, "maxUsers", 10);
+		index.init();
+
+		Task written = task("2", "Buy milk");
+		when(repository.findNamesByUserId(USER_ID))
+				.thenAnswer(invocation -> {
+					// Saved after the load read the collection
+					index.onSaved(written);
+					return List.of(task("1", "Buy bread"));
+				})
+				.thenReturn(List.of(task("1", "Buy bread"), written));
+
+		assertEquals(List.of("Buy bread", "Buy milk"), index.suggest(USER_ID, "buy", 10));
+		assertEquals(List.of("Buy bread", "Buy milk"), index.suggest(USER_ID, "buy", 10));
+		verify(repository, times(2)).findNamesByUserId(USER_ID);
+	}
+}